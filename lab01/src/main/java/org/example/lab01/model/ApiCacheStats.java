@@ -0,0 +1,43 @@
+package org.example.lab01.model;
+
+public class ApiCacheStats {
+    private final long hits;
+    private final long misses;
+    private final long revalidations;
+    private final long evictions;
+    private final int size;
+
+    public ApiCacheStats(long hits, long misses, long revalidations, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.revalidations = revalidations;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getRevalidations() {
+        return revalidations;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ApiCacheStats{hits=%d, misses=%d, revalidations=%d, evictions=%d, size=%d}",
+                hits, misses, revalidations, evictions, size);
+    }
+}
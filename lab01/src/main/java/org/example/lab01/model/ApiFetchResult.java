@@ -0,0 +1,33 @@
+package org.example.lab01.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ApiFetchResult {
+    private final List<Employee> employees = new ArrayList<>();
+    private final Map<String, String> errors = new LinkedHashMap<>();
+
+    public synchronized void addEmployees(Collection<Employee> employees) {
+        this.employees.addAll(employees);
+    }
+
+    public synchronized void addError(String source, String message) {
+        errors.put(source, message);
+    }
+
+    public synchronized List<Employee> getEmployees() {
+        return List.copyOf(employees);
+    }
+
+    public synchronized Map<String, String> getErrors() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+    }
+
+    public synchronized boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
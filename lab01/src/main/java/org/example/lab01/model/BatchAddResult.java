@@ -0,0 +1,27 @@
+package org.example.lab01.model;
+
+public class BatchAddResult {
+    private final boolean[] accepted;
+    private final int acceptedCount;
+
+    public BatchAddResult(boolean[] accepted, int acceptedCount) {
+        this.accepted = accepted;
+        this.acceptedCount = acceptedCount;
+    }
+
+    public int size() {
+        return accepted.length;
+    }
+
+    public boolean isAccepted(int index) {
+        return accepted[index];
+    }
+
+    public int getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    public int getRejectedCount() {
+        return accepted.length - acceptedCount;
+    }
+}
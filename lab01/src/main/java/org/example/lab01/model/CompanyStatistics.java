@@ -4,6 +4,9 @@ public class CompanyStatistics {
     private long employeeCount;
     private double averageSalary;
     private String highestPaidEmployeeName;
+    private double minSalary;
+    private double maxSalary;
+    private double totalSalary;
 
     public CompanyStatistics(long employeeCount, double averageSalary, String highestPaidEmployeeName) {
         this.employeeCount = employeeCount;
@@ -11,6 +14,14 @@ public class CompanyStatistics {
         this.highestPaidEmployeeName = highestPaidEmployeeName;
     }
 
+    public CompanyStatistics(long employeeCount, double averageSalary, String highestPaidEmployeeName,
+                             double minSalary, double maxSalary, double totalSalary) {
+        this(employeeCount, averageSalary, highestPaidEmployeeName);
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.totalSalary = totalSalary;
+    }
+
     public long getEmployeeCount() {
         return employeeCount;
     }
@@ -35,9 +46,34 @@ public class CompanyStatistics {
         this.highestPaidEmployeeName = highestPaidEmployeeName;
     }
 
+    public double getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(double minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public double getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(double maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public double getTotalSalary() {
+        return totalSalary;
+    }
+
+    public void setTotalSalary(double totalSalary) {
+        this.totalSalary = totalSalary;
+    }
+
     @Override
     public String toString() {
-        return String.format("CompanyStatistics{employeeCount=%d, averageSalary=%.2f, highestPaidEmployee='%s'}",
-                employeeCount, averageSalary, highestPaidEmployeeName);
+        return String.format("CompanyStatistics{employeeCount=%d, averageSalary=%.2f, highestPaidEmployee='%s', " +
+                        "minSalary=%.2f, maxSalary=%.2f, totalSalary=%.2f}",
+                employeeCount, averageSalary, highestPaidEmployeeName, minSalary, maxSalary, totalSalary);
     }
 }
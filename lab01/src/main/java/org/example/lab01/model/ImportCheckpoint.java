@@ -0,0 +1,91 @@
+package org.example.lab01.model;
+
+import java.util.Map;
+
+public class ImportCheckpoint {
+    private long byteOffset;
+    private int nextLineNumber;
+    private int importedCount;
+    private int processedCount;
+    private Map<ImportErrorCode, Integer> errorCounts;
+    private long fileSize;
+    private long lastModifiedMillis;
+    private String storeId;
+
+    public ImportCheckpoint(long byteOffset, int nextLineNumber, int importedCount, int processedCount,
+                            Map<ImportErrorCode, Integer> errorCounts, long fileSize, long lastModifiedMillis,
+                            String storeId) {
+        this.byteOffset = byteOffset;
+        this.nextLineNumber = nextLineNumber;
+        this.importedCount = importedCount;
+        this.processedCount = processedCount;
+        this.errorCounts = errorCounts;
+        this.fileSize = fileSize;
+        this.lastModifiedMillis = lastModifiedMillis;
+        this.storeId = storeId;
+    }
+
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    public void setByteOffset(long byteOffset) {
+        this.byteOffset = byteOffset;
+    }
+
+    public int getNextLineNumber() {
+        return nextLineNumber;
+    }
+
+    public void setNextLineNumber(int nextLineNumber) {
+        this.nextLineNumber = nextLineNumber;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public int getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(int processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public Map<ImportErrorCode, Integer> getErrorCounts() {
+        return errorCounts;
+    }
+
+    public void setErrorCounts(Map<ImportErrorCode, Integer> errorCounts) {
+        this.errorCounts = errorCounts;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public long getLastModifiedMillis() {
+        return lastModifiedMillis;
+    }
+
+    public void setLastModifiedMillis(long lastModifiedMillis) {
+        this.lastModifiedMillis = lastModifiedMillis;
+    }
+
+    public String getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(String storeId) {
+        this.storeId = storeId;
+    }
+}
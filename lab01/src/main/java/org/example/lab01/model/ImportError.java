@@ -0,0 +1,35 @@
+package org.example.lab01.model;
+
+public class ImportError {
+    private final int lineNumber;
+    private final ImportErrorCode code;
+    private final Object detail;
+
+    public ImportError(int lineNumber, ImportErrorCode code, Object detail) {
+        this.lineNumber = lineNumber;
+        this.code = code;
+        this.detail = detail;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public ImportErrorCode getCode() {
+        return code;
+    }
+
+    public Object getDetail() {
+        return detail;
+    }
+
+    public String getMessage() {
+        String description = code.describe(detail);
+        return lineNumber > 0 ? "Linia " + lineNumber + ": " + description : description;
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
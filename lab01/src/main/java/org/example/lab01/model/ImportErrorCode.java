@@ -0,0 +1,24 @@
+package org.example.lab01.model;
+
+public enum ImportErrorCode {
+    WRONG_COLUMN_COUNT("Nieprawidłowa liczba kolumn (oczekiwano 6, otrzymano %s)"),
+    EMPTY_FIELD("Puste pola nie są dozwolone"),
+    UNKNOWN_POSITION("Nieznane stanowisko: %s"),
+    INVALID_SALARY("Nieprawidłowy format wynagrodzenia: %s"),
+    NON_POSITIVE_SALARY("Wynagrodzenie musi być dodatnie, otrzymano: %s"),
+    DUPLICATE_EMAIL("Pracownik z tym emailem już istnieje"),
+    READ_ERROR("Błąd odczytu pliku: %s"),
+    INTERRUPTED("Import został przerwany"),
+    CHECKPOINT_ERROR("Nie można zapisać punktu kontrolnego: %s"),
+    OTHER("%s");
+
+    private final String template;
+
+    ImportErrorCode(String template) {
+        this.template = template;
+    }
+
+    public String describe(Object detail) {
+        return String.format(template, detail);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.lab01.model;
+
+import java.time.Instant;
+
+public class ImportJob {
+    private final String id;
+    private final String filePath;
+    private final ImportProgress progress = new ImportProgress();
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile ImportSummary summary;
+    private volatile String failureMessage;
+    private volatile boolean cancelRequested;
+    private volatile Instant finishedAt;
+
+    public ImportJob(String id, String filePath) {
+        this.id = id;
+        this.filePath = filePath;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public ImportProgress getProgress() {
+        return progress;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportJobStatus status) {
+        this.status = status;
+    }
+
+    public ImportSummary getSummary() {
+        return summary;
+    }
+
+    public void setSummary(ImportSummary summary) {
+        this.summary = summary;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public void setFailureMessage(String failureMessage) {
+        this.failureMessage = failureMessage;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public boolean isFinished() {
+        ImportJobStatus current = status;
+        return current == ImportJobStatus.COMPLETED || current == ImportJobStatus.FAILED
+                || current == ImportJobStatus.CANCELLED;
+    }
+}
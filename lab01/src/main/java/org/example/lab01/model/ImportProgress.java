@@ -0,0 +1,93 @@
+package org.example.lab01.model;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ImportProgress {
+    private final AtomicLong bytesProcessed = new AtomicLong();
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final AtomicLong importedCount = new AtomicLong();
+    private final AtomicLong duplicateCount = new AtomicLong();
+    private final AtomicLong invalidCount = new AtomicLong();
+    private volatile long totalBytes;
+    private volatile long startOffset;
+    private volatile long startNanos = System.nanoTime();
+
+    public void start(long totalBytes, long startOffset) {
+        this.totalBytes = totalBytes;
+        this.startOffset = startOffset;
+        bytesProcessed.set(startOffset);
+        rowsProcessed.set(0);
+        importedCount.set(0);
+        duplicateCount.set(0);
+        invalidCount.set(0);
+        startNanos = System.nanoTime();
+    }
+
+    public void record(long byteOffset, long rows, long imported, long duplicates, long invalid) {
+        bytesProcessed.set(byteOffset);
+        rowsProcessed.addAndGet(rows);
+        importedCount.set(imported);
+        duplicateCount.set(duplicates);
+        invalidCount.set(invalid);
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesProcessed() {
+        return bytesProcessed.get();
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed.get();
+    }
+
+    public long getImportedCount() {
+        return importedCount.get();
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount.get();
+    }
+
+    public long getInvalidCount() {
+        return invalidCount.get();
+    }
+
+    public double getFractionDone() {
+        long total = totalBytes;
+        return total > 0 ? Math.min(1.0, (double) bytesProcessed.get() / total) : 1.0;
+    }
+
+    public double getBytesPerSecond() {
+        return perSecond(bytesProcessed.get() - startOffset);
+    }
+
+    public double getRowsPerSecond() {
+        return perSecond(rowsProcessed.get());
+    }
+
+    public Optional<Duration> getEstimatedTimeRemaining() {
+        double bytesPerSecond = getBytesPerSecond();
+        if (bytesPerSecond <= 0) {
+            return Optional.empty();
+        }
+        long remaining = Math.max(0, totalBytes - bytesProcessed.get());
+        return Optional.of(Duration.ofMillis((long) (remaining / bytesPerSecond * 1000)));
+    }
+
+    private double perSecond(long count) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return seconds > 0 ? count / seconds : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImportProgress{%.1f%%, %.0f B/s, %.0f wierszy/s, ETA=%s}",
+                getFractionDone() * 100, getBytesPerSecond(), getRowsPerSecond(),
+                getEstimatedTimeRemaining().map(Duration::toString).orElse("?"));
+    }
+}
@@ -1,39 +1,182 @@
 package org.example.lab01.model;
 
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
 
 public class ImportSummary {
+    public static final int DEFAULT_MAX_DETAILED_ERRORS = 1000;
+
     private int importedCount;
-    private List<String> errors;
+    private int processedCount;
+    private int invalidCount;
+    private int errorCount;
+    private final int maxDetailedErrors;
+    private List<ImportError> errors;
+    private final int[] errorCountsByCode = new int[ImportErrorCode.values().length];
+    private final Map<ImportErrorCode, List<LineRange>> lineRanges = new EnumMap<>(ImportErrorCode.class);
 
     public ImportSummary(int importedCount) {
+        this(importedCount, DEFAULT_MAX_DETAILED_ERRORS);
+    }
+
+    public ImportSummary(int importedCount, int maxDetailedErrors) {
+        if (maxDetailedErrors < 0) {
+            throw new IllegalArgumentException("Limit szczegółowych błędów nie może być ujemny");
+        }
         this.importedCount = importedCount;
+        this.maxDetailedErrors = maxDetailedErrors;
         this.errors = new ArrayList<>();
     }
 
     public ImportSummary(int importedCount, List<String> errors) {
+        this(importedCount, DEFAULT_MAX_DETAILED_ERRORS);
+        setErrors(errors);
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(int importedCount) {
         this.importedCount = importedCount;
-        this.errors = errors != null ? errors : new ArrayList<>();
     }
 
-    public int getImportedCount() { 
-        return importedCount; 
+    public int getProcessedCount() {
+        return processedCount;
+    }
+
+    public void addProcessedRows(int rows) {
+        processedCount += rows;
+    }
+
+    public int getDuplicateCount() {
+        return getErrorCount(ImportErrorCode.DUPLICATE_EMAIL);
+    }
+
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public int getErrorCount(ImportErrorCode code) {
+        return errorCountsByCode[code.ordinal()];
+    }
+
+    public Map<ImportErrorCode, Integer> getErrorCounts() {
+        Map<ImportErrorCode, Integer> counts = new EnumMap<>(ImportErrorCode.class);
+        for (ImportErrorCode code : ImportErrorCode.values()) {
+            if (errorCountsByCode[code.ordinal()] > 0) {
+                counts.put(code, errorCountsByCode[code.ordinal()]);
+            }
+        }
+        return counts;
+    }
+
+    public List<LineRange> getErrorLineRanges(ImportErrorCode code) {
+        return Collections.unmodifiableList(lineRanges.getOrDefault(code, List.of()));
     }
-    
-    public void setImportedCount(int importedCount) { 
-        this.importedCount = importedCount; 
+
+    public int getMaxDetailedErrors() {
+        return maxDetailedErrors;
+    }
+
+    public boolean isErrorListTruncated() {
+        return errorCount > errors.size();
     }
 
     public List<String> getErrors() {
-        return errors;
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return errors.get(index).getMessage();
+            }
+
+            @Override
+            public int size() {
+                return errors.size();
+            }
+        };
+    }
+
+    public List<ImportError> getImportErrors() {
+        return Collections.unmodifiableList(errors);
     }
 
     public void setErrors(List<String> errors) {
-        this.errors = errors != null ? errors : new ArrayList<>();
+        this.errors = new ArrayList<>();
+        invalidCount = 0;
+        errorCount = 0;
+        Arrays.fill(errorCountsByCode, 0);
+        lineRanges.clear();
+        if (errors != null) {
+            errors.forEach(this::addError);
+        }
     }
 
     public void addError(String error) {
-        this.errors.add(error);
+        addError(0, ImportErrorCode.OTHER, error);
+    }
+
+    public void addError(ImportError error) {
+        count(error.getLineNumber(), error.getCode());
+        if (errors.size() < maxDetailedErrors) {
+            errors.add(error);
+        }
+    }
+
+    public void addError(int lineNumber, ImportErrorCode code, Object detail) {
+        count(lineNumber, code);
+        if (errors.size() < maxDetailedErrors) {
+            errors.add(new ImportError(lineNumber, code, detail));
+        }
+    }
+
+    public void addImportedRows(int rows) {
+        importedCount += rows;
+    }
+
+    /**
+     * Dolicza błędy linii bez szczegółów: tylko liczbę i zakresy linii (mogą być puste,
+     * np. dla liczników odtworzonych z punktu kontrolnego).
+     */
+    public void addLineErrors(ImportErrorCode code, int count, List<LineRange> ranges) {
+        errorCount += count;
+        errorCountsByCode[code.ordinal()] += count;
+        if (code != ImportErrorCode.DUPLICATE_EMAIL) {
+            invalidCount += count;
+        }
+        for (LineRange range : ranges) {
+            addRange(code, range.getFirstLine(), range.getLastLine());
+        }
+    }
+
+    private void count(int lineNumber, ImportErrorCode code) {
+        errorCount++;
+        errorCountsByCode[code.ordinal()]++;
+        if (lineNumber <= 0) {
+            return;
+        }
+        if (code != ImportErrorCode.DUPLICATE_EMAIL) {
+            invalidCount++;
+        }
+        addRange(code, lineNumber, lineNumber);
+    }
+
+    private void addRange(ImportErrorCode code, int firstLine, int lastLine) {
+        List<LineRange> ranges = lineRanges.computeIfAbsent(code, c -> new ArrayList<>());
+        LineRange last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+        if (last != null && firstLine == last.getLastLine() + 1) {
+            last.setLastLine(lastLine);
+        } else if (ranges.size() < maxDetailedErrors) {
+            ranges.add(new LineRange(firstLine, lastLine));
+        }
     }
 }
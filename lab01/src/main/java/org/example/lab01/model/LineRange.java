@@ -0,0 +1,28 @@
+package org.example.lab01.model;
+
+public class LineRange {
+    private final int firstLine;
+    private int lastLine;
+
+    public LineRange(int firstLine, int lastLine) {
+        this.firstLine = firstLine;
+        this.lastLine = lastLine;
+    }
+
+    public int getFirstLine() {
+        return firstLine;
+    }
+
+    public int getLastLine() {
+        return lastLine;
+    }
+
+    public void setLastLine(int lastLine) {
+        this.lastLine = lastLine;
+    }
+
+    @Override
+    public String toString() {
+        return firstLine == lastLine ? String.valueOf(firstLine) : firstLine + "-" + lastLine;
+    }
+}
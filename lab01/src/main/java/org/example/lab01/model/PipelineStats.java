@@ -0,0 +1,78 @@
+package org.example.lab01.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PipelineStats {
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsParsed = new AtomicLong();
+    private final AtomicLong rowsInserted = new AtomicLong();
+    private final AtomicInteger readQueueDepth = new AtomicInteger();
+    private final AtomicInteger insertQueueDepth = new AtomicInteger();
+    private volatile long startNanos = System.nanoTime();
+
+    public void start() {
+        startNanos = System.nanoTime();
+    }
+
+    public void recordRead(int bytes, int queueDepth) {
+        bytesRead.addAndGet(bytes);
+        readQueueDepth.set(queueDepth);
+    }
+
+    public void recordParsed(int rows, int readQueueDepth, int insertQueueDepth) {
+        rowsParsed.addAndGet(rows);
+        this.readQueueDepth.set(readQueueDepth);
+        this.insertQueueDepth.set(insertQueueDepth);
+    }
+
+    public void recordInserted(int rows, int queueDepth) {
+        rowsInserted.addAndGet(rows);
+        insertQueueDepth.set(queueDepth);
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed.get();
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted.get();
+    }
+
+    public int getReadQueueDepth() {
+        return readQueueDepth.get();
+    }
+
+    public int getInsertQueueDepth() {
+        return insertQueueDepth.get();
+    }
+
+    public double getReadBytesPerSecond() {
+        return perSecond(bytesRead.get());
+    }
+
+    public double getParsedRowsPerSecond() {
+        return perSecond(rowsParsed.get());
+    }
+
+    public double getInsertedRowsPerSecond() {
+        return perSecond(rowsInserted.get());
+    }
+
+    private double perSecond(long count) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return seconds > 0 ? count / seconds : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PipelineStats{read=%.0f B/s, parse=%.0f wierszy/s, insert=%.0f wierszy/s, " +
+                        "readQueue=%d, insertQueue=%d}",
+                getReadBytesPerSecond(), getParsedRowsPerSecond(), getInsertedRowsPerSecond(),
+                getReadQueueDepth(), getInsertQueueDepth());
+    }
+}
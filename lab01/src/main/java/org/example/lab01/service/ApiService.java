@@ -1,115 +1,646 @@
 package org.example.lab01.service;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonSyntaxException;
 import org.example.lab01.exception.ApiException;
+import org.example.lab01.model.ApiCacheStats;
+import org.example.lab01.model.ApiFetchResult;
 import org.example.lab01.model.Employee;
-import org.example.lab01.model.Position;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Service
 public class ApiService {
 
+    private static final int MAX_ERROR_BODY_BYTES = 4096;
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final String CIRCUIT_OPEN_MESSAGE =
+            "API %s jest chwilowo niedostępne - zapytania wstrzymane po serii błędów";
+
     private final HttpClient httpClient;
-    private final Gson gson;
+    private final ResponseCache responseCache = new ResponseCache(60_000, 100);
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private int maxConcurrentRequests = 4;
+    private int pagePrefetchDepth = 1;
+    private String pageParam = "page";
+    private String pageSizeParam = "size";
+    private String totalCountHeader = "X-Total-Count";
+    private Duration requestTimeout = Duration.ofSeconds(30);
+    private int maxRetries = 2;
+    private long retryInitialBackoffMillis = 100;
+    private long retryMaxBackoffMillis = 2000;
+    private long hedgeDelayMillis = 0;
+    private int circuitFailureThreshold = 5;
+    private long circuitOpenDurationMillis = 30_000;
 
     public ApiService() {
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(30))
                 .build();
-        this.gson = new Gson();
     }
 
     public List<Employee> fetchEmployeesFromApi(String apiUrl) {
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(apiUrl))
-                    .header("Accept", "application/json")
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                throw new ApiException("Błąd HTTP: " + response.statusCode() + " - " + response.body());
+            ResponseCache.Entry cached = responseCache.get(apiUrl);
+            if (cached != null && responseCache.isFresh(cached)) {
+                responseCache.recordHit();
+                return cached.employees();
             }
-            return parseEmployeesFromJson(response.body());
+            HttpResponse<String> response = sendWithRetry(buildRequest(apiUrl, cached),
+                    HttpResponse.BodyHandlers.ofString());
+            return handleResponse(apiUrl, cached, response);
 
         } catch (IOException e) {
             throw new ApiException("Błąd połączenia z API: " + e.getMessage());
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new ApiException("Zapytanie zostało przerwane: " + e.getMessage());
-        } catch (JsonSyntaxException e) {
-            throw new ApiException("Błąd parsowania JSON: " + e.getMessage());
+        } catch (ApiException e) {
+            throw e;
         } catch (Exception e) {
             throw new ApiException("Nieoczekiwany błąd: " + e.getMessage());
         }
     }
 
-    private List<Employee> parseEmployeesFromJson(String jsonResponse) {
+    public ApiFetchResult fetchEmployeesFromApi(List<String> apiUrls) {
+        ApiFetchResult result = new ApiFetchResult();
+        Semaphore permits = new Semaphore(maxConcurrentRequests);
+        List<CompletableFuture<Void>> requests = new ArrayList<>(apiUrls.size());
         try {
-            JsonArray jsonArray = gson.fromJson(jsonResponse, JsonArray.class);
-            List<Employee> employees = new ArrayList<>();
-
-            for (JsonElement element : jsonArray) {
-                JsonObject userObject = element.getAsJsonObject();
-                String fullName = getStringField(userObject, "name");
-                String email = getStringField(userObject, "email");
-                JsonObject companyObject = userObject.getAsJsonObject("company");
-                if (companyObject == null) {
-                    throw new ApiException("Brak obiektu 'company' w odpowiedzi API");
+            for (String apiUrl : apiUrls) {
+                permits.acquire();
+                requests.add(fetchAsync(apiUrl).handle((employees, error) -> {
+                    if (error != null) {
+                        result.addError(apiUrl, describeAsyncError(error));
+                    } else {
+                        result.addEmployees(employees);
+                    }
+                    permits.release();
+                    return null;
+                }));
+            }
+            CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            requests.forEach(request -> request.cancel(true));
+            throw new ApiException("Zapytanie zostało przerwane: " + e.getMessage());
+        }
+        return result;
+    }
+
+    @Value("${employee.api.max-concurrent-requests:4}")
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Liczba równoległych zapytań musi być dodatnia");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    @Value("${employee.api.cache.ttl-ms:60000}")
+    public void setCacheTtlMillis(long ttlMillis) {
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("Czas ważności pamięci podręcznej nie może być ujemny");
+        }
+        responseCache.setTtlMillis(ttlMillis);
+    }
+
+    @Value("${employee.api.cache.max-entries:100}")
+    public void setCacheMaxEntries(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Rozmiar pamięci podręcznej nie może być ujemny");
+        }
+        responseCache.setMaxEntries(maxEntries);
+    }
+
+    @Value("${employee.api.retry.max-retries:2}")
+    public void setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Liczba ponowień nie może być ujemna");
+        }
+        this.maxRetries = maxRetries;
+    }
+
+    @Value("${employee.api.retry.initial-backoff-ms:100}")
+    public void setRetryInitialBackoffMillis(long retryInitialBackoffMillis) {
+        if (retryInitialBackoffMillis < 0) {
+            throw new IllegalArgumentException("Opóźnienie ponowienia nie może być ujemne");
+        }
+        this.retryInitialBackoffMillis = retryInitialBackoffMillis;
+    }
+
+    @Value("${employee.api.retry.max-backoff-ms:2000}")
+    public void setRetryMaxBackoffMillis(long retryMaxBackoffMillis) {
+        if (retryMaxBackoffMillis < 0) {
+            throw new IllegalArgumentException("Opóźnienie ponowienia nie może być ujemne");
+        }
+        this.retryMaxBackoffMillis = retryMaxBackoffMillis;
+    }
+
+    @Value("${employee.api.circuit-breaker.failure-threshold:5}")
+    public void setCircuitBreakerFailureThreshold(int failureThreshold) {
+        if (failureThreshold < 0) {
+            throw new IllegalArgumentException("Próg błędów nie może być ujemny");
+        }
+        this.circuitFailureThreshold = failureThreshold;
+        circuitBreakers.values().forEach(breaker -> breaker.setFailureThreshold(failureThreshold));
+    }
+
+    @Value("${employee.api.circuit-breaker.open-duration-ms:30000}")
+    public void setCircuitBreakerOpenDurationMillis(long openDurationMillis) {
+        if (openDurationMillis < 1) {
+            throw new IllegalArgumentException("Czas otwarcia obwodu musi być dodatni");
+        }
+        this.circuitOpenDurationMillis = openDurationMillis;
+        circuitBreakers.values().forEach(breaker -> breaker.setOpenDurationMillis(openDurationMillis));
+    }
+
+    @Value("${employee.api.hedge-delay-ms:0}")
+    public void setHedgeDelayMillis(long hedgeDelayMillis) {
+        if (hedgeDelayMillis < 0) {
+            throw new IllegalArgumentException("Opóźnienie zapytania zapasowego nie może być ujemne");
+        }
+        this.hedgeDelayMillis = hedgeDelayMillis;
+    }
+
+    public boolean isCircuitOpen(String apiUrl) {
+        CircuitBreaker breaker = circuitBreakers.get(origin(URI.create(apiUrl)));
+        return breaker != null && breaker.isOpen();
+    }
+
+    public ApiCacheStats getCacheStats() {
+        return responseCache.stats();
+    }
+
+    public void clearCache() {
+        responseCache.clear();
+    }
+
+    /**
+     * Pobiera kolejne strony ({@code page=1,2,...} i {@code size=pageSize}) aż do pustej strony albo do
+     * liczby pracowników z nagłówka {@code X-Total-Count} (nazwa konfigurowalna), jeśli API go wysyła.
+     * Strona krótsza niż {@code pageSize} nie kończy pobierania, bo API może przycinać rozmiar strony
+     * do własnego limitu. Podczas przetwarzania strony N w drodze są już strony N+1..N+głębokość, więc na
+     * końcu danych wysyłanych jest do {@code głębokość} zapytań nadmiarowych, które są anulowane.
+     */
+    public long streamEmployeesFromPages(String apiUrl, int pageSize, Consumer<Employee> consumer) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Rozmiar strony musi być dodatni");
+        }
+        Deque<CompletableFuture<HttpResponse<String>>> pending = new ArrayDeque<>();
+        int nextPage = 1;
+        long total = 0;
+        try {
+            for (int i = 0; i <= pagePrefetchDepth; i++) {
+                pending.add(sendAsync(pageUrl(apiUrl, nextPage++, pageSize), null));
+            }
+            while (true) {
+                HttpResponse<String> response = awaitPage(pending.poll());
+                long count = readPage(response, consumer);
+                total += count;
+                long expectedTotal = totalCount(response);
+                if (count == 0 || (expectedTotal >= 0 && total >= expectedTotal)) {
+                    return total;
                 }
-                String companyName = getStringField(companyObject, "name");
-                String[] nameParts = splitFullName(fullName);
-                String firstName = nameParts[0];
-                String lastName = nameParts[1];
-                Position position = Position.PROGRAMISTA;
-                double salary = position.getBaseSalary();
+                pending.add(sendAsync(pageUrl(apiUrl, nextPage++, pageSize), null));
+            }
+        } finally {
+            pending.forEach(request -> request.cancel(true));
+        }
+    }
 
-                Employee employee = new Employee(firstName, lastName, email, companyName, position, salary);
-                employees.add(employee);
+    /**
+     * Pobiera strony wskazywane nagłówkiem {@code Link} z {@code rel="next"} (np. z kursorem w adresie).
+     * Adres następnej strony jest znany dopiero po nagłówkach bieżącej, więc wyprzedzenie wynosi
+     * co najwyżej jedną stronę, a przy głębokości 0 strony są pobierane po kolei.
+     */
+    public long streamEmployeesFromLinkedPages(String apiUrl, Consumer<Employee> consumer) {
+        String pageUrl = apiUrl;
+        CompletableFuture<HttpResponse<String>> current = sendAsync(pageUrl, null);
+        long total = 0;
+        try {
+            while (current != null) {
+                HttpResponse<String> response = awaitPage(current);
+                String nextUrl = nextPageUrl(pageUrl, response);
+                current = nextUrl != null && pagePrefetchDepth > 0 ? sendAsync(nextUrl, null) : null;
+                total += readPage(response, consumer);
+                if (nextUrl != null && current == null) {
+                    current = sendAsync(nextUrl, null);
+                }
+                pageUrl = nextUrl;
+            }
+            return total;
+        } finally {
+            if (current != null) {
+                current.cancel(true);
             }
+        }
+    }
 
-            return employees;
+    @Value("${employee.api.page-prefetch-depth:1}")
+    public void setPagePrefetchDepth(int pagePrefetchDepth) {
+        if (pagePrefetchDepth < 0) {
+            throw new IllegalArgumentException("Głębokość pobierania z wyprzedzeniem nie może być ujemna");
+        }
+        this.pagePrefetchDepth = pagePrefetchDepth;
+    }
 
-        } catch (JsonSyntaxException e) {
-            throw new ApiException("Nieprawidłowy format JSON: " + e.getMessage());
-        } catch (Exception e) {
-            throw new ApiException("Błąd podczas parsowania danych pracowników: " + e.getMessage());
+    @Value("${employee.api.page-param:page}")
+    public void setPageParam(String pageParam) {
+        this.pageParam = pageParam;
+    }
+
+    @Value("${employee.api.page-size-param:size}")
+    public void setPageSizeParam(String pageSizeParam) {
+        this.pageSizeParam = pageSizeParam;
+    }
+
+    @Value("${employee.api.total-count-header:X-Total-Count}")
+    public void setTotalCountHeader(String totalCountHeader) {
+        this.totalCountHeader = totalCountHeader;
+    }
+
+    @Value("${employee.api.request-timeout-ms:30000}")
+    public void setRequestTimeoutMillis(long requestTimeoutMillis) {
+        if (requestTimeoutMillis < 1) {
+            throw new IllegalArgumentException("Limit czasu zapytania musi być dodatni");
+        }
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+    }
+
+    public long streamEmployeesFromApi(String apiUrl, Consumer<Employee> consumer) {
+        try {
+            HttpResponse<InputStream> response = sendWithRetry(buildRequest(apiUrl),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                    String errorBody = new String(body.readNBytes(MAX_ERROR_BODY_BYTES), StandardCharsets.UTF_8);
+                    throw new ApiException("Błąd HTTP: " + response.statusCode() + " - " + errorBody);
+                }
+                return EmployeeJsonReader.read(new InputStreamReader(body, StandardCharsets.UTF_8), consumer);
+            }
+        } catch (IOException e) {
+            throw new ApiException("Błąd połączenia z API: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Zapytanie zostało przerwane: " + e.getMessage());
         }
     }
 
-    private String getStringField(JsonObject jsonObject, String fieldName) {
-        JsonElement element = jsonObject.get(fieldName);
-        if (element == null || element.isJsonNull()) {
-            throw new ApiException("Brak wymaganego pola '" + fieldName + "' w odpowiedzi API");
+    private CompletableFuture<List<Employee>> fetchAsync(String apiUrl) {
+        ResponseCache.Entry cached = responseCache.get(apiUrl);
+        if (cached != null && responseCache.isFresh(cached)) {
+            responseCache.recordHit();
+            return CompletableFuture.completedFuture(cached.employees());
         }
-        return element.getAsString();
+        return sendAsync(apiUrl, cached).thenApply(response -> handleResponse(apiUrl, cached, response));
     }
 
-    private String[] splitFullName(String fullName) {
-        if (fullName == null || fullName.trim().isEmpty()) {
-            throw new ApiException("Puste pole 'name'");
+    private CompletableFuture<HttpResponse<String>> sendAsync(String apiUrl, ResponseCache.Entry cached) {
+        HttpRequest request;
+        try {
+            request = buildRequest(apiUrl, cached);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new ApiException("Nieprawidłowy adres API: " + e.getMessage()));
         }
+        return sendWithRetryAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private <T> HttpResponse<T> sendWithRetry(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        CircuitBreaker breaker = circuitBreakerFor(request.uri());
+        for (int attempt = 0; ; attempt++) {
+            if (!breaker.allowRequest()) {
+                throw new ApiException(CIRCUIT_OPEN_MESSAGE.formatted(origin(request.uri())));
+            }
+            HttpResponse<T> response;
+            try {
+                response = hedgeDelayMillis > 0 ? awaitHedged(sendHedged(request, handler))
+                        : httpClient.send(request, handler);
+            } catch (IOException e) {
+                breaker.recordFailure();
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                Thread.sleep(backoffMillis(attempt));
+                continue;
+            }
+            recordOutcome(breaker, response.statusCode());
+            if (attempt >= maxRetries || !isRetryable(response.statusCode())) {
+                return response;
+            }
+            discard(response);
+            Thread.sleep(backoffMillis(attempt));
+        }
+    }
 
-        String[] parts = fullName.trim().split("\\s+", 2);
-        if (parts.length == 1) {
-            return new String[]{parts[0], ""};
+    /**
+     * Asynchroniczny odpowiednik {@link #sendWithRetry}. Anulowanie zwróconego wyniku anuluje bieżącą
+     * próbę (lub oczekiwanie na nią) i wstrzymuje kolejne ponowienia.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendWithRetryAsync(HttpRequest request,
+                                                                     HttpResponse.BodyHandler<T> handler) {
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        AtomicReference<Future<?>> inFlight = new AtomicReference<>();
+        result.whenComplete((response, error) -> {
+            Future<?> current = inFlight.get();
+            if (result.isCancelled() && current != null) {
+                current.cancel(true);
+            }
+        });
+        attemptAsync(request, handler, circuitBreakerFor(request.uri()), 0, result, inFlight);
+        return result;
+    }
+
+    private <T> void attemptAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler, CircuitBreaker breaker,
+                                  int attempt, CompletableFuture<HttpResponse<T>> result,
+                                  AtomicReference<Future<?>> inFlight) {
+        if (result.isDone()) {
+            return;
+        }
+        if (!breaker.allowRequest()) {
+            result.completeExceptionally(new ApiException(CIRCUIT_OPEN_MESSAGE.formatted(origin(request.uri()))));
+            return;
+        }
+        CompletableFuture<HttpResponse<T>> sent = hedgeDelayMillis > 0 ? sendHedged(request, handler)
+                : httpClient.sendAsync(request, handler);
+        inFlight.set(sent);
+        if (result.isCancelled()) {
+            sent.cancel(true);
+            return;
+        }
+        sent.whenComplete((response, error) -> {
+            if (result.isDone()) {
+                if (response != null) {
+                    discard(response);
+                }
+                return;
+            }
+            Throwable cause = error != null ? unwrap(error) : null;
+            if (cause instanceof IOException) {
+                breaker.recordFailure();
+            } else if (response != null) {
+                recordOutcome(breaker, response.statusCode());
+            }
+            boolean retryable = cause instanceof IOException || (response != null && isRetryable(response.statusCode()));
+            if (attempt >= maxRetries || !retryable) {
+                if (cause != null) {
+                    result.completeExceptionally(cause);
+                } else {
+                    result.complete(response);
+                }
+                return;
+            }
+            if (response != null) {
+                discard(response);
+            }
+            Executor delayed = CompletableFuture.delayedExecutor(backoffMillis(attempt), TimeUnit.MILLISECONDS);
+            CompletableFuture<Void> backoff = CompletableFuture.runAsync(() -> { }, delayed);
+            inFlight.set(backoff);
+            backoff.thenRun(() -> attemptAsync(request, handler, breaker, attempt + 1, result, inFlight));
+        });
+    }
+
+    /**
+     * Wysyła zapytanie, a jeśli odpowiedź nie nadejdzie w ciągu {@code hedgeDelayMillis}, wysyła drugie
+     * identyczne. Wygrywa pierwsza odpowiedź, spóźniona jest odrzucana.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendHedged(HttpRequest request,
+                                                             HttpResponse.BodyHandler<T> handler) {
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        List<CompletableFuture<HttpResponse<T>>> sent = new CopyOnWriteArrayList<>();
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                sent.forEach(attempt -> attempt.cancel(true));
+            }
+        });
+        AtomicInteger pending = new AtomicInteger(1);
+        BiConsumer<HttpResponse<T>, Throwable> onComplete = (response, error) -> {
+            if (error == null) {
+                if (!result.complete(response)) {
+                    discard(response);
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(unwrap(error));
+            }
+        };
+        CompletableFuture<HttpResponse<T>> primary = httpClient.sendAsync(request, handler);
+        sent.add(primary);
+        primary.whenComplete(onComplete);
+        CompletableFuture.delayedExecutor(hedgeDelayMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            if (!result.isDone() && pending.getAndUpdate(n -> n > 0 ? n + 1 : n) > 0) {
+                CompletableFuture<HttpResponse<T>> hedge = httpClient.sendAsync(request, handler);
+                sent.add(hedge);
+                hedge.whenComplete(onComplete);
+            }
+        });
+        return result;
+    }
+
+    private static <T> HttpResponse<T> awaitHedged(CompletableFuture<HttpResponse<T>> response)
+            throws IOException, InterruptedException {
+        try {
+            return response.get();
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e.getCause());
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private CircuitBreaker circuitBreakerFor(URI uri) {
+        return circuitBreakers.computeIfAbsent(origin(uri),
+                key -> new CircuitBreaker(circuitFailureThreshold, circuitOpenDurationMillis));
+    }
+
+    private static String origin(URI uri) {
+        return (uri.getScheme() + "://" + uri.getRawAuthority()).toLowerCase(Locale.ROOT);
+    }
+
+    private static void recordOutcome(CircuitBreaker breaker, int statusCode) {
+        if (statusCode >= 500) {
+            breaker.recordFailure();
         } else {
-            return new String[]{parts[0], parts[1]};
+            breaker.recordSuccess();
+        }
+    }
+
+    private static boolean isRetryable(int statusCode) {
+        return statusCode == HTTP_TOO_MANY_REQUESTS || statusCode >= 500;
+    }
+
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(retryMaxBackoffMillis, retryInitialBackoffMillis << Math.min(attempt, 20));
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof AutoCloseable body) {
+            try {
+                body.close();
+            } catch (Exception ignored) {
+                // odpowiedź i tak jest porzucana
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private HttpResponse<String> awaitPage(CompletableFuture<HttpResponse<String>> request) {
+        try {
+            return request.get();
+        } catch (ExecutionException e) {
+            throw new ApiException(describeAsyncError(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Zapytanie zostało przerwane: " + e.getMessage());
+        }
+    }
+
+    private long readPage(HttpResponse<String> response, Consumer<Employee> consumer) {
+        checkStatus(response);
+        return EmployeeJsonReader.read(new StringReader(response.body()), consumer);
+    }
+
+    // -1, gdy nagłówka nie ma albo nie jest liczbą - wtedy koniec danych wyznacza pusta strona.
+    private long totalCount(HttpResponse<?> response) {
+        String value = totalCountHeader == null || totalCountHeader.isEmpty() ? null : header(response, totalCountHeader);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String pageUrl(String apiUrl, int page, int pageSize) {
+        String separator = apiUrl.contains("?") ? "&" : "?";
+        return apiUrl + separator + encode(pageParam) + "=" + page + "&" + encode(pageSizeParam) + "=" + pageSize;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String nextPageUrl(String pageUrl, HttpResponse<?> response) {
+        HttpHeaders headers = response.headers();
+        if (headers == null) {
+            return null;
+        }
+        for (String header : headers.allValues("Link")) {
+            for (String link : header.split(",")) {
+                int start = link.indexOf('<');
+                int end = link.indexOf('>', start + 1);
+                if (start < 0 || end < 0) {
+                    continue;
+                }
+                for (String param : link.substring(end + 1).split(";")) {
+                    String normalized = param.replace("\"", "").replace(" ", "").toLowerCase(Locale.ROOT);
+                    if (normalized.equals("rel=next")) {
+                        return URI.create(pageUrl).resolve(link.substring(start + 1, end).trim()).toString();
+                    }
+                }
+            }
         }
+        return null;
+    }
+
+    private List<Employee> handleResponse(String apiUrl, ResponseCache.Entry cached, HttpResponse<String> response) {
+        if (response.statusCode() == HTTP_NOT_MODIFIED && cached != null) {
+            responseCache.revalidated(apiUrl, cached);
+            return cached.employees();
+        }
+        checkStatus(response);
+        responseCache.recordMiss();
+        List<Employee> employees = parseEmployeesFromJson(response.body());
+        responseCache.store(apiUrl, employees, header(response, "ETag"), header(response, "Last-Modified"));
+        return employees;
+    }
+
+    private static void checkStatus(HttpResponse<String> response) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new ApiException("Błąd HTTP: " + response.statusCode() + " - " + response.body());
+        }
+    }
+
+    private static String header(HttpResponse<?> response, String name) {
+        HttpHeaders headers = response.headers();
+        return headers != null ? headers.firstValue(name).orElse(null) : null;
+    }
+
+    private static String describeAsyncError(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof ApiException) {
+            return cause.getMessage();
+        }
+        if (cause instanceof IOException) {
+            return "Błąd połączenia z API: " + cause.getMessage();
+        }
+        return "Nieoczekiwany błąd: " + cause.getMessage();
+    }
+
+    private HttpRequest buildRequest(String apiUrl) {
+        return buildRequest(apiUrl, null);
+    }
+
+    private HttpRequest buildRequest(String apiUrl, ResponseCache.Entry cached) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(apiUrl))
+                .header("Accept", "application/json")
+                .timeout(requestTimeout)
+                .GET();
+        if (cached != null && cached.etag() != null) {
+            builder.header("If-None-Match", cached.etag());
+        }
+        if (cached != null && cached.lastModified() != null) {
+            builder.header("If-Modified-Since", cached.lastModified());
+        }
+        return builder.build();
+    }
+
+    private List<Employee> parseEmployeesFromJson(String jsonResponse) {
+        List<Employee> employees = new ArrayList<>();
+        EmployeeJsonReader.read(new StringReader(jsonResponse), employees::add);
+        return employees;
     }
 }
@@ -0,0 +1,74 @@
+package org.example.lab01.service;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Lista, do której można tylko dopisywać. Zapisy muszą być serializowane przez wywołującego,
+ * odczyty nie blokują - każdy widok to niezmienny prefiks danych opublikowany przez zmienną volatile.
+ */
+class AppendOnlyList<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile View<T> published = new View<>(new Object[INITIAL_CAPACITY], 0);
+
+    void add(T element) {
+        View<T> current = published;
+        Object[] data = current.data;
+        int size = current.size;
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size + (size >> 1));
+        }
+        data[size] = element;
+        published = new View<>(data, size + 1);
+    }
+
+    void addAll(Collection<? extends T> elements) {
+        View<T> current = published;
+        Object[] data = current.data;
+        int size = current.size;
+        int required = size + elements.size();
+        if (required > data.length) {
+            data = Arrays.copyOf(data, Math.max(required, size + (size >> 1)));
+        }
+        for (T element : elements) {
+            data[size++] = element;
+        }
+        published = new View<>(data, size);
+    }
+
+    List<T> view() {
+        return published;
+    }
+
+    int size() {
+        return published.size;
+    }
+
+    private static final class View<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] data;
+        private final int size;
+
+        private View(Object[] data, int size) {
+            this.data = data;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            return (T) data[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.ImportCheckpoint;
+import org.example.lab01.model.ImportErrorCode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Plik punktu kontrolnego obok importowanego pliku ({@code <plik>.checkpoint}). Zapis idzie
+ * do pliku tymczasowego podmienianego przez rename, więc przerwany zapis nie psuje poprzedniego punktu.
+ */
+final class CheckpointFile {
+
+    static final String SUFFIX = ".checkpoint";
+    private static final String ERROR_COUNT_PREFIX = "errors.";
+
+    private final Path path;
+    private final Path temporaryPath;
+
+    CheckpointFile(Path importedFile) {
+        this.path = importedFile.resolveSibling(importedFile.getFileName() + SUFFIX);
+        this.temporaryPath = importedFile.resolveSibling(importedFile.getFileName() + SUFFIX + ".tmp");
+    }
+
+    /**
+     * Zwraca pusty wynik, gdy punktu nie ma albo jest uszkodzony (ucięty, zmieniony ręcznie,
+     * z brakującymi polami) - takiego punktu nie da się użyć, więc import zaczyna się od początku.
+     */
+    Optional<ImportCheckpoint> read() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(path)) {
+            properties.load(input);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        try {
+            ImportCheckpoint checkpoint = new ImportCheckpoint(
+                    Long.parseLong(properties.getProperty("byteOffset")),
+                    Integer.parseInt(properties.getProperty("nextLineNumber")),
+                    Integer.parseInt(properties.getProperty("importedCount")),
+                    Integer.parseInt(properties.getProperty("processedCount")),
+                    readErrorCounts(properties),
+                    Long.parseLong(properties.getProperty("fileSize")),
+                    Long.parseLong(properties.getProperty("lastModifiedMillis")),
+                    properties.getProperty("storeId"));
+            return isConsistent(checkpoint) ? Optional.of(checkpoint) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    void write(ImportCheckpoint checkpoint) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("byteOffset", Long.toString(checkpoint.getByteOffset()));
+        properties.setProperty("nextLineNumber", Integer.toString(checkpoint.getNextLineNumber()));
+        properties.setProperty("importedCount", Integer.toString(checkpoint.getImportedCount()));
+        properties.setProperty("processedCount", Integer.toString(checkpoint.getProcessedCount()));
+        checkpoint.getErrorCounts().forEach((code, count) ->
+                properties.setProperty(ERROR_COUNT_PREFIX + code.name(), Integer.toString(count)));
+        properties.setProperty("fileSize", Long.toString(checkpoint.getFileSize()));
+        properties.setProperty("lastModifiedMillis", Long.toString(checkpoint.getLastModifiedMillis()));
+        properties.setProperty("storeId", checkpoint.getStoreId());
+        try (OutputStream output = Files.newOutputStream(temporaryPath)) {
+            properties.store(output, null);
+        }
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    // Nieznany kod (np. z innej wersji aplikacji) kończy się IllegalArgumentException, czyli punktem uszkodzonym.
+    private static Map<ImportErrorCode, Integer> readErrorCounts(Properties properties) {
+        Map<ImportErrorCode, Integer> counts = new EnumMap<>(ImportErrorCode.class);
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(ERROR_COUNT_PREFIX)) {
+                counts.put(ImportErrorCode.valueOf(name.substring(ERROR_COUNT_PREFIX.length())),
+                        Integer.parseInt(properties.getProperty(name)));
+            }
+        }
+        return counts;
+    }
+
+    private static boolean isConsistent(ImportCheckpoint checkpoint) {
+        int errorCount = 0;
+        for (int count : checkpoint.getErrorCounts().values()) {
+            if (count < 0) {
+                return false;
+            }
+            errorCount += count;
+        }
+        return checkpoint.getStoreId() != null
+                && checkpoint.getByteOffset() >= 0
+                && checkpoint.getByteOffset() <= checkpoint.getFileSize()
+                && checkpoint.getNextLineNumber() >= 1
+                && checkpoint.getImportedCount() >= 0
+                && checkpoint.getProcessedCount() == checkpoint.getImportedCount() + errorCount;
+    }
+}
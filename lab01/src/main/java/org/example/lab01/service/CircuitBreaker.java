@@ -0,0 +1,70 @@
+package org.example.lab01.service;
+
+/**
+ * Wyłącznik chroniący przed zapytaniami do niedziałającego API. Po {@code failureThreshold} kolejnych
+ * błędach obwód otwiera się i zapytania są odrzucane bez łączenia się z serwerem. Po upływie
+ * {@code openDuration} przepuszczane jest jedno zapytanie próbne: sukces zamyka obwód, błąd otwiera go ponownie.
+ */
+final class CircuitBreaker {
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private int failureThreshold;
+    private long openDurationNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    CircuitBreaker(int failureThreshold, long openDurationMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDurationMillis * 1_000_000;
+    }
+
+    synchronized void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    synchronized void setOpenDurationMillis(long openDurationMillis) {
+        this.openDurationNanos = openDurationMillis * 1_000_000;
+    }
+
+    synchronized boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (state == State.OPEN && now - openedAtNanos < openDurationNanos) {
+            return false;
+        }
+        // Próba, której wynik nie wrócił w czasie otwarcia obwodu, jest uznawana za utraconą.
+        if (state == State.HALF_OPEN && probeInFlight && now - openedAtNanos < openDurationNanos) {
+            return false;
+        }
+        state = State.HALF_OPEN;
+        probeInFlight = true;
+        openedAtNanos = now;
+        return true;
+    }
+
+    synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (failureThreshold > 0 && (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+            probeInFlight = false;
+        }
+    }
+
+    synchronized boolean isOpen() {
+        return state == State.OPEN && System.nanoTime() - openedAtNanos < openDurationNanos;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.CompanyStatistics;
+import org.example.lab01.model.Employee;
+
+/**
+ * Niezmienny stan agregatów jednej firmy. Każde dodanie pracownika tworzy nową instancję,
+ * więc czytelnik zawsze widzi spójny zestaw liczników.
+ */
+final class CompanyAggregate {
+
+    private final long count;
+    private final double salarySum;
+    private final double salarySumCompensation;
+    private final double minSalary;
+    private final double maxSalary;
+    private final Employee highestPaid;
+
+    private CompanyAggregate(long count, double salarySum, double salarySumCompensation,
+                             double minSalary, double maxSalary, Employee highestPaid) {
+        this.count = count;
+        this.salarySum = salarySum;
+        this.salarySumCompensation = salarySumCompensation;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.highestPaid = highestPaid;
+    }
+
+    static CompanyAggregate of(Employee employee) {
+        double salary = employee.getSalary();
+        return new CompanyAggregate(1, salary, 0.0, salary, salary, employee);
+    }
+
+    CompanyAggregate with(Employee employee) {
+        double salary = employee.getSalary();
+        double corrected = salary - salarySumCompensation;
+        double sum = salarySum + corrected;
+        double compensation = (sum - salarySum) - corrected;
+        boolean newMax = salary > maxSalary;
+        return new CompanyAggregate(count + 1, sum, compensation,
+                Math.min(minSalary, salary),
+                newMax ? salary : maxSalary,
+                newMax ? employee : highestPaid);
+    }
+
+    CompanyStatistics toStatistics() {
+        return new CompanyStatistics(count, salarySum / count,
+                highestPaid.getFirstName() + " " + highestPaid.getLastName(),
+                minSalary, maxSalary, salarySum);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.lab01.service;
+
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Callable;
+
+/**
+ * Parsuje jeden fragment pliku CSV (zakres bajtów zaczynający się od początku linii)
+ * z lokalną numeracją linii od 1. Numery globalne są znane dopiero po zliczeniu linii
+ * we wcześniejszych fragmentach, dlatego przesunięcie podaje się przy scalaniu.
+ */
+final class CsvChunkParser implements Callable<CsvChunkParser.Result> {
+
+    static final class Result {
+        final ParsedRows rows = new ParsedRows();
+        int lineCount;
+    }
+
+    private final FileChannel channel;
+    private final long from;
+    private final long to;
+    private final boolean containsHeader;
+
+    CsvChunkParser(FileChannel channel, long from, long to, boolean containsHeader) {
+        this.channel = channel;
+        this.from = from;
+        this.to = to;
+        this.containsHeader = containsHeader;
+    }
+
+    @Override
+    public Result call() throws Exception {
+        Result result = new Result();
+        CsvRowParser parser = new CsvRowParser();
+        result.lineCount = new MappedLineReader().read(channel, from, to, 1, (line, offset, length, lineNumber) -> {
+            if ((containsHeader && lineNumber == 1) || CsvRowParser.isBlank(line, offset, length)) {
+                return;
+            }
+            result.rows.parse(parser, line, offset, length, lineNumber);
+        });
+        return result;
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.ImportError;
+import org.example.lab01.model.ImportErrorCode;
+import org.example.lab01.model.ImportSummary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Śledzi dopisywany plik CSV i importuje tylko nowe, kompletne linie. Zapamiętuje przesunięcie
+ * w bajtach i numer następnej linii po ostatnim zatwierdzonym fragmencie; niedokończona ostatnia
+ * linia czeka na kolejne sprawdzenie. Plik krótszy niż zatwierdzone przesunięcie jest traktowany
+ * jako nowy plik i czytany od początku.
+ * Uruchomione śledzenie nie zatrzymuje się po wyjątku: błąd sprawdzenia pliku trafia do słuchacza
+ * jako podsumowanie z błędem, a wyjątki słuchacza są liczone i dostępne przez {@link #getLastFailure()}.
+ */
+public final class CsvFollower implements AutoCloseable {
+
+    private static final int PROBE_SIZE = 8192;
+
+    private final EmployeeService employeeService;
+    private final Path file;
+    private final CsvRowParser parser = new CsvRowParser();
+    private final ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+    private volatile long committedOffset;
+    private volatile int nextLineNumber;
+    private ScheduledExecutorService scheduler;
+    private final AtomicInteger failureCount = new AtomicInteger();
+    private volatile RuntimeException lastFailure;
+
+    CsvFollower(EmployeeService employeeService, Path file, long committedOffset, int nextLineNumber) {
+        if (committedOffset < 0 || nextLineNumber < 1) {
+            throw new IllegalArgumentException("Przesunięcie nie może być ujemne, a numer linii musi być dodatni");
+        }
+        this.employeeService = employeeService;
+        this.file = file;
+        this.committedOffset = committedOffset;
+        this.nextLineNumber = nextLineNumber;
+    }
+
+    public long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    public int getNextLineNumber() {
+        return nextLineNumber;
+    }
+
+    public int getFailureCount() {
+        return failureCount.get();
+    }
+
+    public Optional<RuntimeException> getLastFailure() {
+        return Optional.ofNullable(lastFailure);
+    }
+
+    public synchronized ImportSummary poll() {
+        ImportSummary summary = new ImportSummary(0);
+        // Każde sprawdzenie ma własne podsumowanie, więc i własny limit szczegółów błędów.
+        ParsedRows rows = new ParsedRows();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < committedOffset) {
+                committedOffset = 0;
+                nextLineNumber = 1;
+            }
+            long end = completeLinesEnd(channel, committedOffset, size);
+            if (end > committedOffset) {
+                int lines = new MappedLineReader().read(channel, committedOffset, end, nextLineNumber,
+                        (line, offset, length, lineNumber) -> {
+                            if (lineNumber == 1 || CsvRowParser.isBlank(line, offset, length)) {
+                                return;
+                            }
+                            rows.parse(parser, line, offset, length, lineNumber);
+                            if (rows.rowCount() == ImportBatch.DEFAULT_SIZE) {
+                                rows.applyTo(employeeService, summary, 0);
+                            }
+                        });
+                rows.applyTo(employeeService, summary, 0);
+                committedOffset = end;
+                nextLineNumber += lines;
+            }
+        } catch (IOException e) {
+            rows.applyTo(employeeService, summary, 0);
+            summary.addError(new ImportError(0, ImportErrorCode.READ_ERROR, e.getMessage()));
+        }
+        return summary;
+    }
+
+    public synchronized void start(long pollIntervalMillis, Consumer<ImportSummary> listener) {
+        if (pollIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Interwał sprawdzania pliku musi być dodatni");
+        }
+        if (scheduler != null) {
+            throw new IllegalStateException("Śledzenie pliku zostało już uruchomione");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "csv-follower");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> pollAndNotify(listener), 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = scheduler;
+        }
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    // Wyjątek wyrzucony z zadania zatrzymałby scheduleWithFixedDelay bez śladu.
+    private void pollAndNotify(Consumer<ImportSummary> listener) {
+        ImportSummary summary;
+        try {
+            summary = poll();
+        } catch (RuntimeException e) {
+            recordFailure(e);
+            summary = new ImportSummary(0);
+            summary.addError(new ImportError(0, ImportErrorCode.OTHER, "Błąd śledzenia pliku: " + e));
+        }
+        if (summary.getProcessedCount() > 0 || summary.getErrorCount() > 0) {
+            try {
+                listener.accept(summary);
+            } catch (RuntimeException e) {
+                recordFailure(e);
+            }
+        }
+    }
+
+    private void recordFailure(RuntimeException e) {
+        lastFailure = e;
+        failureCount.incrementAndGet();
+    }
+
+    /**
+     * Zwraca pozycję tuż za ostatnim zakończeniem linii w zakresie [from, size). Znak {@code \r}
+     * na samym końcu pliku nie zamyka jeszcze linii, bo może po nim zostać dopisany {@code \n}.
+     */
+    private long completeLinesEnd(FileChannel channel, long from, long size) throws IOException {
+        long blockEnd = size;
+        while (blockEnd > from) {
+            long blockStart = Math.max(from, blockEnd - PROBE_SIZE);
+            probe.clear().limit((int) (blockEnd - blockStart));
+            int read;
+            do {
+                read = channel.read(probe, blockStart + probe.position());
+            } while (read > 0 && probe.hasRemaining());
+            for (int i = probe.position() - 1; i >= 0; i--) {
+                byte b = probe.get(i);
+                long position = blockStart + i;
+                if (b == '\n' || (b == '\r' && position + 1 < size)) {
+                    return position + 1;
+                }
+            }
+            blockEnd = blockStart;
+        }
+        return from;
+    }
+}
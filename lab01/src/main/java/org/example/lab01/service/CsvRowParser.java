@@ -0,0 +1,134 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.Employee;
+import org.example.lab01.model.ImportErrorCode;
+import org.example.lab01.model.Position;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parsuje wiersz CSV zapisany w buforze bajtów. Pola są wyznaczane i przycinane jako zakresy
+ * bajtów, a dekodowane do String dopiero po sprawdzeniu liczby kolumn i pustych pól.
+ * Liczba kolumn jest liczona tak jak {@code String.split(",")}, czyli bez końcowych pustych pól.
+ * Niepoprawny wiersz nie rzuca wyjątku - parse zwraca null, a przyczynę podają
+ * {@link #errorCode()} i {@link #errorDetail()}. Szczegół błędu jest dekodowany dopiero na żądanie,
+ * bo zwykle podsumowanie i tak go nie zachowa; trzeba go pobrać przed kolejnym wywołaniem parse,
+ * dopóki bufor z linią nie został nadpisany.
+ */
+final class CsvRowParser {
+
+    private static final int COLUMNS = 6;
+
+    private final int[] fieldStart = new int[COLUMNS];
+    private final int[] fieldEnd = new int[COLUMNS];
+    private ImportErrorCode errorCode;
+    private byte[] errorLine;
+    private int errorField;
+    private double errorValue;
+
+    static boolean isBlank(byte[] line, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if ((line[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Employee parse(byte[] line, int offset, int length) {
+        int columns = splitFields(line, offset, offset + length);
+        if (columns != COLUMNS) {
+            return reject(ImportErrorCode.WRONG_COLUMN_COUNT, columns);
+        }
+
+        boolean emptyField = false;
+        for (int i = 0; i < COLUMNS; i++) {
+            int start = fieldStart[i];
+            int end = fieldEnd[i];
+            while (start < end && (line[start] & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (line[end - 1] & 0xFF) <= ' ') {
+                end--;
+            }
+            fieldStart[i] = start;
+            fieldEnd[i] = end;
+            emptyField |= start == end;
+        }
+        if (emptyField) {
+            return reject(ImportErrorCode.EMPTY_FIELD, 0);
+        }
+
+        Position position = PositionLookup.find(line, fieldStart[4], fieldEnd[4]);
+        if (position == null) {
+            return rejectField(ImportErrorCode.UNKNOWN_POSITION, line, 4);
+        }
+
+        double salary = DecimalParser.parse(line, fieldStart[5], fieldEnd[5]);
+        if (Double.isNaN(salary)) {
+            return rejectField(ImportErrorCode.INVALID_SALARY, line, 5);
+        }
+
+        if (salary <= 0) {
+            return reject(ImportErrorCode.NON_POSITIVE_SALARY, salary);
+        }
+
+        errorCode = null;
+        errorLine = null;
+        return new Employee(field(line, 0), field(line, 1), field(line, 2), field(line, 3), position, salary);
+    }
+
+    ImportErrorCode errorCode() {
+        return errorCode;
+    }
+
+    Object errorDetail() {
+        if (errorCode == null) {
+            return null;
+        }
+        return switch (errorCode) {
+            case WRONG_COLUMN_COUNT -> Integer.valueOf((int) errorValue);
+            case UNKNOWN_POSITION, INVALID_SALARY -> field(errorLine, errorField);
+            case NON_POSITIVE_SALARY -> Double.valueOf(errorValue);
+            default -> null;
+        };
+    }
+
+    private Employee reject(ImportErrorCode code, double value) {
+        errorCode = code;
+        errorLine = null;
+        errorValue = value;
+        return null;
+    }
+
+    private Employee rejectField(ImportErrorCode code, byte[] line, int field) {
+        errorCode = code;
+        errorLine = line;
+        errorField = field;
+        return null;
+    }
+
+    private int splitFields(byte[] line, int from, int to) {
+        int fields = 0;
+        int nonEmptyFields = 0;
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || line[i] == ',') {
+                if (fields < COLUMNS) {
+                    fieldStart[fields] = start;
+                    fieldEnd[fields] = i;
+                }
+                fields++;
+                if (i > start) {
+                    nonEmptyFields = fields;
+                }
+                start = i + 1;
+            }
+        }
+        return nonEmptyFields;
+    }
+
+    private String field(byte[] line, int index) {
+        return new String(line, fieldStart[index], fieldEnd[index] - fieldStart[index], StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.lab01.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parsuje liczbę dziesiętną zapisaną w bajtach. Akceptowana składnia jest węższa niż w
+ * {@link Double#parseDouble}: opcjonalny znak, cyfry z co najwyżej jedną kropką (przynajmniej jedna
+ * cyfra przed albo po niej) i opcjonalny wykładnik {@code e}/{@code E} ze znakiem i cyframi. Nie są
+ * akceptowane sufiksy typu ({@code 8500d}, {@code 8500f}), {@code Infinity}, {@code NaN}, zapis
+ * szesnastkowy, podkreślenia ani białe znaki - dla nich zwracane jest NaN zamiast wyjątku.
+ * Wartości o co najwyżej 15 cyfrach znaczących i wykładniku do 22 są liczone dokładnie jednym
+ * mnożeniem lub dzieleniem przez potęgę dziesięciu, pozostałe przekazywane są do Double.parseDouble;
+ * dla zaakceptowanych danych wynik jest więc taki sam jak z Double.parseDouble.
+ */
+final class DecimalParser {
+
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final int MAX_FAST_EXPONENT = 22;
+    private static final int MAX_EXPONENT = 100_000;
+    private static final double[] POWERS_OF_TEN = new double[MAX_FAST_EXPONENT + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private DecimalParser() {
+    }
+
+    static double parse(byte[] buffer, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer[i] == '+' || buffer[i] == '-')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean fraction = false;
+        for (; i < to; i++) {
+            byte b = buffer[i];
+            if (b == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (b < '0' || b > '9') {
+                break;
+            }
+            anyDigit = true;
+            int digit = b - '0';
+            if (mantissa != 0 || digit != 0) {
+                significantDigits++;
+                if (significantDigits <= MAX_FAST_DIGITS) {
+                    mantissa = mantissa * 10 + digit;
+                }
+            }
+            if (fraction) {
+                exponent--;
+            }
+        }
+        if (!anyDigit) {
+            return Double.NaN;
+        }
+
+        if (i < to && (buffer[i] == 'e' || buffer[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (buffer[i] == '+' || buffer[i] == '-')) {
+                negativeExponent = buffer[i] == '-';
+                i++;
+            }
+            if (i == to) {
+                return Double.NaN;
+            }
+            int explicitExponent = 0;
+            for (; i < to; i++) {
+                byte b = buffer[i];
+                if (b < '0' || b > '9') {
+                    return Double.NaN;
+                }
+                explicitExponent = Math.min(explicitExponent * 10 + (b - '0'), MAX_EXPONENT);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (i != to) {
+            return Double.NaN;
+        }
+
+        if (significantDigits > MAX_FAST_DIGITS || Math.abs(exponent) > MAX_FAST_EXPONENT) {
+            return Double.parseDouble(new String(buffer, from, to - from, StandardCharsets.US_ASCII));
+        }
+        double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -value : value;
+    }
+}
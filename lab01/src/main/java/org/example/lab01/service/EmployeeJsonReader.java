@@ -0,0 +1,130 @@
+package org.example.lab01.service;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import org.example.lab01.exception.ApiException;
+import org.example.lab01.model.Employee;
+import org.example.lab01.model.Position;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * Strumieniowo czyta tablicę użytkowników z API i przekazuje kolejnych pracowników zaraz po
+ * odczytaniu ich obiektu, bez budowania drzewa JsonArray. Pamięć nie zależy od długości tablicy.
+ */
+final class EmployeeJsonReader {
+
+    private EmployeeJsonReader() {
+    }
+
+    static long read(Reader source, Consumer<Employee> consumer) {
+        long count = 0;
+        try (JsonReader reader = new JsonReader(source)) {
+            reader.setLenient(true);
+            reader.beginArray();
+            while (reader.hasNext()) {
+                consumer.accept(readEmployee(reader));
+                count++;
+            }
+            reader.endArray();
+        } catch (MalformedJsonException | EOFException | IllegalStateException e) {
+            throw new ApiException("Nieprawidłowy format JSON: " + e.getMessage());
+        } catch (IOException e) {
+            throw new ApiException("Błąd połączenia z API: " + e.getMessage());
+        }
+        return count;
+    }
+
+    private static Employee readEmployee(JsonReader reader) throws IOException {
+        String fullName = null;
+        String email = null;
+        String companyName = null;
+        boolean hasCompany = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name" -> fullName = readString(reader, "name");
+                case "email" -> email = readString(reader, "email");
+                case "company" -> {
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        hasCompany = false;
+                    } else {
+                        hasCompany = true;
+                        companyName = readCompanyName(reader);
+                    }
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        requireField(fullName, "name");
+        requireField(email, "email");
+        if (!hasCompany) {
+            throw new ApiException("Brak obiektu 'company' w odpowiedzi API");
+        }
+        requireField(companyName, "name");
+
+        String[] nameParts = splitFullName(fullName);
+        Position position = Position.PROGRAMISTA;
+        return new Employee(nameParts[0], nameParts[1], email, companyName, position, position.getBaseSalary());
+    }
+
+    private static String readCompanyName(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new ApiException("Nieprawidłowy format JSON: pole 'company' nie jest obiektem");
+        }
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("name")) {
+                name = readString(reader, "name");
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return name;
+    }
+
+    private static String readString(JsonReader reader, String fieldName) throws IOException {
+        switch (reader.peek()) {
+            case NULL -> {
+                reader.nextNull();
+                return null;
+            }
+            case STRING, NUMBER -> {
+                return reader.nextString();
+            }
+            case BOOLEAN -> {
+                return String.valueOf(reader.nextBoolean());
+            }
+            default -> throw new ApiException("Nieprawidłowy format JSON: pole '" + fieldName + "' nie jest tekstem");
+        }
+    }
+
+    private static void requireField(String value, String fieldName) {
+        if (value == null) {
+            throw new ApiException("Brak wymaganego pola '" + fieldName + "' w odpowiedzi API");
+        }
+    }
+
+    private static String[] splitFullName(String fullName) {
+        if (fullName.trim().isEmpty()) {
+            throw new ApiException("Puste pole 'name'");
+        }
+
+        String[] parts = fullName.trim().split("\\s+", 2);
+        if (parts.length == 1) {
+            return new String[]{parts[0], ""};
+        } else {
+            return new String[]{parts[0], parts[1]};
+        }
+    }
+}
@@ -1,85 +1,217 @@
 package org.example.lab01.service;
 
+import org.example.lab01.model.BatchAddResult;
 import org.example.lab01.model.Employee;
 import org.example.lab01.model.Position;
 import org.example.lab01.model.CompanyStatistics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 @Service
 public class EmployeeService {
 
-    private final List<Employee> employees = new ArrayList<>();
+    private final Map<String, Employee> employeesByEmail = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<LastNameKey, Employee> employeesByLastName = new ConcurrentSkipListMap<>();
+    private final Object writeLock = new Object();
+    // Indeksy po stronie pisarza - zmieniane tylko pod writeLock, czytelnicy widzą je przez state.
+    private final EmployeeTable employees = new EmployeeTable();
+    private final Map<String, AppendOnlyList<Employee>> employeesByCompany = new HashMap<>();
+    private final Map<Position, AppendOnlyList<Employee>> employeesByPosition = new EnumMap<>(Position.class);
+    private final String storeId = UUID.randomUUID().toString();
+    private volatile StoreState state;
+    private volatile ParallelAnalytics parallelAnalytics;
+
+    public EmployeeService() {
+        for (Position position : Position.values()) {
+            employeesByPosition.put(position, new AppendOnlyList<>());
+        }
+        state = new StoreState(employees.rows(), Map.of(), positionViews());
+    }
 
     public boolean addEmployee(Employee employee) {
-        boolean emailExists = employees.stream().anyMatch(e -> e.getEmail().equals(employee.getEmail()));
-        if (emailExists) {
+        requireIndexable(employee);
+        if (employeesByEmail.putIfAbsent(employee.getEmail(), employee) != null) {
             return false;
         }
-        employees.add(employee);
+        synchronized (writeLock) {
+            employees.add(employee);
+            employeesByCompany.computeIfAbsent(employee.getCompanyName(), company -> new AppendOnlyList<>())
+                    .add(employee);
+            employeesByPosition.get(employee.getPosition()).add(employee);
+            publish(Map.of(employee.getCompanyName(), List.of(employee)));
+            employeesByLastName.put(LastNameKey.of(employee), employee);
+        }
         return true;
     }
 
+    public BatchAddResult addAll(Collection<Employee> batch) {
+        boolean[] accepted = new boolean[batch.size()];
+        List<Employee> added = new ArrayList<>(batch.size());
+        Map<String, List<Employee>> addedByCompany = new HashMap<>();
+        Map<Position, List<Employee>> addedByPosition = new EnumMap<>(Position.class);
+        for (Employee employee : batch) {
+            requireIndexable(employee);
+        }
+        int index = 0;
+        for (Employee employee : batch) {
+            if (employeesByEmail.putIfAbsent(employee.getEmail(), employee) == null) {
+                accepted[index] = true;
+                added.add(employee);
+                addedByCompany.computeIfAbsent(employee.getCompanyName(), company -> new ArrayList<>()).add(employee);
+                addedByPosition.computeIfAbsent(employee.getPosition(), position -> new ArrayList<>()).add(employee);
+            }
+            index++;
+        }
+        if (!added.isEmpty()) {
+            synchronized (writeLock) {
+                employees.addAll(added);
+                addedByCompany.forEach((companyName, companyEmployees) ->
+                        employeesByCompany.computeIfAbsent(companyName, company -> new AppendOnlyList<>())
+                                .addAll(companyEmployees));
+                addedByPosition.forEach((position, positionEmployees) ->
+                        employeesByPosition.get(position).addAll(positionEmployees));
+                publish(addedByCompany);
+                for (Employee employee : added) {
+                    employeesByLastName.put(LastNameKey.of(employee), employee);
+                }
+            }
+        }
+        return new BatchAddResult(accepted, added.size());
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        return Optional.ofNullable(employeesByEmail.get(email));
+    }
+
     public List<Employee> getAllEmployees() {
-        return employees;
+        return state.rows;
     }
 
     public List<Employee> findByCompany(String companyName) {
-        return employees.stream().filter(e -> e.getCompanyName().equals(companyName)).toList();
+        return snapshot().findByCompany(companyName);
+    }
+
+    public int countByCompany(String companyName) {
+        StoreState.Company company = state.companies.get(companyName);
+        return company != null ? company.employees.size() : 0;
+    }
+
+    public Set<String> companies() {
+        return state.companies.keySet();
     }
 
     public List<Employee> sortByLastName() {
-        return employees.stream().sorted(Comparator.comparing(Employee::getLastName)).toList();
+        return List.copyOf(employeesByLastName.values());
+    }
+
+    public List<Employee> sortByLastName(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset i limit nie mogą być ujemne");
+        }
+        return employeesByLastName.values().stream().skip(offset).limit(limit).toList();
+    }
+
+    public List<Employee> sortByLastNameAfter(String lastName, String email, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit nie może być ujemny");
+        }
+        return employeesByLastName.tailMap(new LastNameKey(lastName, email), false).values().stream()
+                .limit(limit)
+                .toList();
     }
 
     public Map<Position, List<Employee>> groupByPosition() {
-        return employees.stream()
-                .collect(Collectors.groupingBy(Employee::getPosition));
+        return snapshot().groupByPosition();
     }
 
     public Map<Position, Long> countByPosition() {
-        return employees.stream()
-                .collect(Collectors.groupingBy(Employee::getPosition, Collectors.counting()));
+        return snapshot().countByPosition();
+    }
+
+    public List<Employee> findAtOrAbove(Position position) {
+        List<Employee> result = new ArrayList<>();
+        state.employeesByPosition.forEach((candidate, positionEmployees) -> {
+            if (candidate.getHierarchyLevel() <= position.getHierarchyLevel()) {
+                result.addAll(positionEmployees);
+            }
+        });
+        return result;
     }
 
     public double getAverageSalary() {
-        return employees.stream()
-                .mapToDouble(Employee::getSalary)
-                .average()
-                .orElse(0.0);
+        return snapshot().getAverageSalary();
     }
 
     public Optional<Employee> getHighestPaidEmployee() {
-        return employees.stream().max(Comparator.comparing(Employee::getSalary));
+        return snapshot().getHighestPaidEmployee();
     }
+
     public List<Employee> validateSalaryConsistency() {
-        return employees.stream()
-                .filter(employee -> employee.getSalary() < employee.getPosition().getBaseSalary())
-                .collect(Collectors.toList());
+        return snapshot().validateSalaryConsistency();
     }
+
     public Map<String, CompanyStatistics> getCompanyStatistics() {
-        return employees.stream()
-                .collect(Collectors.groupingBy(
-                        Employee::getCompanyName,
-                        Collectors.collectingAndThen(
-                                Collectors.toList(),
-                                companyEmployees -> {
-                                    long employeeCount = companyEmployees.stream()
-                                            .collect(Collectors.counting());
-                                    
-                                    double averageSalary = companyEmployees.stream()
-                                            .collect(Collectors.averagingDouble(Employee::getSalary));
-                                    
-                                    String highestPaidEmployeeName = companyEmployees.stream()
-                                            .collect(Collectors.maxBy(Comparator.comparing(Employee::getSalary)))
-                                            .map(employee -> employee.getFirstName() + " " + employee.getLastName())
-                                            .orElse("Brak pracowników");
-                                    
-                                    return new CompanyStatistics(employeeCount, averageSalary, highestPaidEmployeeName);
-                                }
-                        )
-                ));
+        return snapshot().getCompanyStatistics();
+    }
+
+    public EmployeeSnapshot snapshot() {
+        return new EmployeeSnapshot(state, parallelAnalytics);
+    }
+
+    // Magazyn jest tylko w pamięci, więc punkt kontrolny importu jest ważny tylko dla instancji, która go zapisała.
+    String storeId() {
+        return storeId;
+    }
+
+    @Value("${employee.analytics.parallelism:0}")
+    public void setAnalyticsParallelism(int parallelism) {
+        ParallelAnalytics previous = parallelAnalytics;
+        parallelAnalytics = parallelism > 1 ? new ParallelAnalytics(parallelism) : null;
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+
+    public int getAnalyticsParallelism() {
+        ParallelAnalytics analytics = parallelAnalytics;
+        return analytics != null ? analytics.parallelism() : 1;
+    }
+
+    @PreDestroy
+    public void shutdownAnalytics() {
+        setAnalyticsParallelism(0);
+    }
+
+    // Wywoływane pod writeLock po dopisaniu wierszy do indeksów pisarza.
+    private void publish(Map<String, List<Employee>> addedByCompany) {
+        Map<String, StoreState.Company> companies = new HashMap<>(state.companies);
+        addedByCompany.forEach((companyName, companyEmployees) -> {
+            StoreState.Company previous = companies.get(companyName);
+            CompanyAggregate aggregate = previous != null ? previous.aggregate : null;
+            for (Employee employee : companyEmployees) {
+                aggregate = aggregate == null ? CompanyAggregate.of(employee) : aggregate.with(employee);
+            }
+            companies.put(companyName, new StoreState.Company(employeesByCompany.get(companyName).view(), aggregate));
+        });
+        state = new StoreState(employees.rows(), Collections.unmodifiableMap(companies), positionViews());
+    }
+
+    private Map<Position, List<Employee>> positionViews() {
+        Map<Position, List<Employee>> views = new EnumMap<>(Position.class);
+        employeesByPosition.forEach((position, positionEmployees) -> views.put(position, positionEmployees.view()));
+        return Collections.unmodifiableMap(views);
+    }
+
+    // Sprawdzane przed zajęciem emaila, żeby odrzucony pracownik nie zostawił połowicznie uzupełnionych indeksów.
+    private static void requireIndexable(Employee employee) {
+        if (employee.getEmail() == null || employee.getCompanyName() == null || employee.getPosition() == null) {
+            throw new IllegalArgumentException("Pracownik musi mieć email, nazwę firmy i stanowisko");
+        }
     }
 }
@@ -0,0 +1,164 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.CompanyStatistics;
+import org.example.lab01.model.Employee;
+import org.example.lab01.model.Position;
+
+import java.util.*;
+
+/**
+ * Niezmienna wersja magazynu przypięta w chwili pobrania. Dzieli tablice i indeksy z magazynem
+ * (widzi tylko ich prefiks), więc pobranie kosztuje O(1), a wszystkie zapytania na tej
+ * samej migawce widzą ten sam zbiór pracowników niezależnie od trwających importów.
+ * Zapytania o firmy i stanowiska odpowiadają z opublikowanego {@link StoreState} bez skanowania wierszy.
+ */
+public final class EmployeeSnapshot {
+
+    private static final Position[] POSITIONS = Position.values();
+    private static final double[] BASE_SALARY_BY_POSITION = Arrays.stream(POSITIONS)
+            .mapToDouble(Position::getBaseSalary)
+            .toArray();
+    private static final Comparator<Employee> BY_LAST_NAME = LastNameKey.EMPLOYEE_ORDER;
+
+    private final StoreState state;
+    private final EmployeeTable.Rows rows;
+    private final ParallelAnalytics analytics;
+
+    EmployeeSnapshot(StoreState state, ParallelAnalytics analytics) {
+        this.state = state;
+        this.rows = state.rows;
+        this.analytics = analytics;
+    }
+
+    public long getVersion() {
+        return rows.size;
+    }
+
+    public int size() {
+        return rows.size;
+    }
+
+    public List<Employee> getAllEmployees() {
+        return rows;
+    }
+
+    public List<Employee> findByCompany(String companyName) {
+        StoreState.Company company = state.companies.get(companyName);
+        return company != null ? company.employees : List.of();
+    }
+
+    public Map<Position, Long> countByPosition() {
+        Map<Position, Long> counts = new EnumMap<>(Position.class);
+        state.employeesByPosition.forEach((position, employees) -> {
+            if (!employees.isEmpty()) {
+                counts.put(position, (long) employees.size());
+            }
+        });
+        return counts;
+    }
+
+    public Map<Position, List<Employee>> groupByPosition() {
+        Map<Position, List<Employee>> grouped = new EnumMap<>(Position.class);
+        state.employeesByPosition.forEach((position, employees) -> {
+            if (!employees.isEmpty()) {
+                grouped.put(position, employees);
+            }
+        });
+        return grouped;
+    }
+
+    public double getAverageSalary() {
+        if (rows.size == 0) {
+            return 0.0;
+        }
+        return analyze(EmployeeSnapshot::sumSalaries, Double::sum) / rows.size;
+    }
+
+    public Optional<Employee> getHighestPaidEmployee() {
+        if (rows.size == 0) {
+            return Optional.empty();
+        }
+        int best = analyze(EmployeeSnapshot::indexOfHighestSalary,
+                (left, right) -> rows.salaries[right] > rows.salaries[left] ? right : left);
+        return Optional.of(rows.employees[best]);
+    }
+
+    public List<Employee> validateSalaryConsistency() {
+        return analyze(EmployeeSnapshot::collectInconsistentSalaries, (left, right) -> {
+            left.addAll(right);
+            return left;
+        });
+    }
+
+    public List<Employee> sortByLastName() {
+        return Collections.unmodifiableList(
+                analyze(EmployeeSnapshot::sortSliceByLastName, EmployeeSnapshot::mergeByLastName));
+    }
+
+    public Map<String, CompanyStatistics> getCompanyStatistics() {
+        Map<String, CompanyStatistics> statistics = new HashMap<>(state.companies.size() * 4 / 3 + 1);
+        state.companies.forEach((companyName, company) -> statistics.put(companyName, company.aggregate.toStatistics()));
+        return statistics;
+    }
+
+    private <A> A analyze(ParallelAnalytics.Shard<A> shard, ParallelAnalytics.Combiner<A> combiner) {
+        if (analytics == null) {
+            return shard.compute(rows, 0, rows.size);
+        }
+        return analytics.reduce(rows, shard, combiner);
+    }
+
+    private static double sumSalaries(EmployeeTable.Rows rows, int from, int to) {
+        double[] salaries = rows.salaries;
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            sum += salaries[i];
+        }
+        return sum;
+    }
+
+    private static int indexOfHighestSalary(EmployeeTable.Rows rows, int from, int to) {
+        double[] salaries = rows.salaries;
+        int best = from;
+        for (int i = from + 1; i < to; i++) {
+            if (salaries[i] > salaries[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static List<Employee> collectInconsistentSalaries(EmployeeTable.Rows rows, int from, int to) {
+        double[] salaries = rows.salaries;
+        byte[] positions = rows.positions;
+        List<Employee> inconsistent = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (salaries[i] < BASE_SALARY_BY_POSITION[positions[i]]) {
+                inconsistent.add(rows.employees[i]);
+            }
+        }
+        return inconsistent;
+    }
+
+    private static List<Employee> sortSliceByLastName(EmployeeTable.Rows rows, int from, int to) {
+        Employee[] slice = Arrays.copyOfRange(rows.employees, from, to);
+        Arrays.sort(slice, BY_LAST_NAME);
+        return Arrays.asList(slice);
+    }
+
+    private static List<Employee> mergeByLastName(List<Employee> left, List<Employee> right) {
+        List<Employee> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            if (BY_LAST_NAME.compare(right.get(j), left.get(i)) < 0) {
+                merged.add(right.get(j++));
+            } else {
+                merged.add(left.get(i++));
+            }
+        }
+        merged.addAll(left.subList(i, left.size()));
+        merged.addAll(right.subList(j, right.size()));
+        return merged;
+    }
+}
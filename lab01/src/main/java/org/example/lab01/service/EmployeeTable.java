@@ -0,0 +1,77 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.Employee;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Główny magazyn pracowników w układzie kolumnowym: obok obiektów trzymamy wynagrodzenia
+ * w {@code double[]} i stanowiska jako ordinal w {@code byte[]}, żeby agregacje liczbowe
+ * przechodziły po prymitywnych tablicach. Zapisy serializuje wywołujący, odczyty nie blokują.
+ */
+class EmployeeTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile Rows published = new Rows(new Employee[INITIAL_CAPACITY],
+            new double[INITIAL_CAPACITY], new byte[INITIAL_CAPACITY], 0);
+
+    void add(Employee employee) {
+        addAll(List.of(employee));
+    }
+
+    void addAll(List<Employee> batch) {
+        Rows current = published;
+        Employee[] employees = current.employees;
+        double[] salaries = current.salaries;
+        byte[] positions = current.positions;
+        int size = current.size;
+        int required = size + batch.size();
+        if (required > employees.length) {
+            int capacity = Math.max(required, size + (size >> 1));
+            employees = Arrays.copyOf(employees, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        for (Employee employee : batch) {
+            employees[size] = employee;
+            salaries[size] = employee.getSalary();
+            positions[size] = (byte) employee.getPosition().ordinal();
+            size++;
+        }
+        published = new Rows(employees, salaries, positions, size);
+    }
+
+    Rows rows() {
+        return published;
+    }
+
+    static final class Rows extends AbstractList<Employee> implements RandomAccess {
+        final Employee[] employees;
+        final double[] salaries;
+        final byte[] positions;
+        final int size;
+
+        private Rows(Employee[] employees, double[] salaries, byte[] positions, int size) {
+            this.employees = employees;
+            this.salaries = salaries;
+            this.positions = positions;
+            this.size = size;
+        }
+
+        @Override
+        public Employee get(int index) {
+            Objects.checkIndex(index, size);
+            return employees[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.BatchAddResult;
+import org.example.lab01.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Paczka poprawnie sparsowanych wierszy czekająca na wstawienie przez {@link EmployeeService#addAll}.
+ */
+final class ImportBatch {
+
+    static final int DEFAULT_SIZE = 1000;
+
+    private final List<Employee> employees;
+    private int[] lineNumbers;
+
+    ImportBatch(int capacity) {
+        this.employees = new ArrayList<>(capacity);
+        this.lineNumbers = new int[capacity];
+    }
+
+    void add(Employee employee, int lineNumber) {
+        if (employees.size() == lineNumbers.length) {
+            lineNumbers = Arrays.copyOf(lineNumbers, lineNumbers.length * 2);
+        }
+        lineNumbers[employees.size()] = lineNumber;
+        employees.add(employee);
+    }
+
+    void shiftLineNumbers(int offset) {
+        for (int i = 0; i < employees.size(); i++) {
+            lineNumbers[i] += offset;
+        }
+    }
+
+    int size() {
+        return employees.size();
+    }
+
+    BatchAddResult insert(EmployeeService employeeService) {
+        return employeeService.addAll(employees);
+    }
+
+    int lineNumber(int index) {
+        return lineNumbers[index];
+    }
+
+    void clear() {
+        employees.clear();
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.lab01.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.lab01.model.ImportError;
+import org.example.lab01.model.ImportErrorCode;
+import org.example.lab01.model.ImportJob;
+import org.example.lab01.model.ImportJobStatus;
+import org.example.lab01.model.ImportSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importy CSV uruchamiane w tle. Liczba jednocześnie działających importów i długość kolejki są
+ * ograniczone, więc wiele zgłoszeń naraz nie zajmie wątków obsługujących żądania. Zadanie korzysta
+ * z importu z punktami kontrolnymi: anulowane zadanie można dokończyć, zgłaszając ten sam plik ponownie.
+ * Dla jednego pliku może istnieć tylko jedno niezakończone zadanie, bo zadania dzielą plik punktu kontrolnego.
+ * Zakończone zadania są usuwane po czasie przechowywania albo gdy jest ich więcej niż limit.
+ */
+@Service
+public class ImportJobService {
+
+    private final ImportService importService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ImportJob> activeJobsByPath = new ConcurrentHashMap<>();
+    private Duration finishedJobRetention = Duration.ofHours(1);
+    private int maxFinishedJobs = 100;
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+    private volatile boolean shuttingDown;
+
+    public ImportJobService(ImportService importService,
+                            @Value("${employee.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                            @Value("${employee.import.max-queued-jobs:16}") int maxQueuedJobs) {
+        if (maxConcurrentJobs < 1 || maxQueuedJobs < 1) {
+            throw new IllegalArgumentException("Limity importów w tle muszą być dodatnie");
+        }
+        this.importService = importService;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs), task -> {
+                    Thread thread = new Thread(task, "import-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Value("${employee.import.finished-job-retention-ms:3600000}")
+    public void setFinishedJobRetentionMillis(long retentionMillis) {
+        if (retentionMillis < 0) {
+            throw new IllegalArgumentException("Czas przechowywania zadań nie może być ujemny");
+        }
+        this.finishedJobRetention = Duration.ofMillis(retentionMillis);
+    }
+
+    @Value("${employee.import.max-finished-jobs:100}")
+    public void setMaxFinishedJobs(int maxFinishedJobs) {
+        if (maxFinishedJobs < 0) {
+            throw new IllegalArgumentException("Limit zakończonych zadań nie może być ujemny");
+        }
+        this.maxFinishedJobs = maxFinishedJobs;
+    }
+
+    @Value("${employee.import.shutdown-timeout-ms:30000}")
+    public void setShutdownTimeoutMillis(long timeoutMillis) {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Czas oczekiwania na zakończenie importów nie może być ujemny");
+        }
+        this.shutdownTimeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    public String submit(String filePath) {
+        expireFinishedJobs();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), filePath);
+        ImportJob active = activeJobsByPath.putIfAbsent(pathKey(filePath), job);
+        if (active != null) {
+            throw new IllegalStateException("Import tego pliku już trwa (zadanie " + active.getId() + ")");
+        }
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            release(job);
+            throw new IllegalStateException("Osiągnięto limit oczekujących importów");
+        }
+        return job.getId();
+    }
+
+    public Optional<ImportJob> getJob(String jobId) {
+        expireFinishedJobs();
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public List<ImportJob> getJobs() {
+        expireFinishedJobs();
+        return List.copyOf(jobs.values());
+    }
+
+    public boolean cancel(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        synchronized (job) {
+            if (job.isFinished()) {
+                return false;
+            }
+            job.setCancelRequested(true);
+            if (job.getStatus() == ImportJobStatus.QUEUED) {
+                release(job);
+                finish(job, ImportJobStatus.CANCELLED);
+            }
+            return true;
+        }
+    }
+
+    public boolean removeJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        return job != null && job.isFinished() && jobs.remove(jobId, job);
+    }
+
+    /**
+     * Anuluje zadania i czeka, aż działające zakończą bieżącą paczkę. Zadania anulowane przy zamykaniu
+     * nie zostawiają punktów kontrolnych: magazyn jest tylko w pamięci i znika razem z aplikacją.
+     */
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        jobs.keySet().forEach(this::cancel);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void expireFinishedJobs() {
+        Instant expiry = Instant.now().minus(finishedJobRetention);
+        List<ImportJob> finished = jobs.values().stream()
+                .filter(ImportJob::isFinished)
+                .sorted(Comparator.comparing(ImportJob::getFinishedAt).reversed())
+                .toList();
+        for (int i = 0; i < finished.size(); i++) {
+            ImportJob job = finished.get(i);
+            if (i >= maxFinishedJobs || job.getFinishedAt().isBefore(expiry)) {
+                jobs.remove(job.getId(), job);
+            }
+        }
+    }
+
+    private static void finish(ImportJob job, ImportJobStatus status) {
+        job.setFinishedAt(Instant.now());
+        job.setStatus(status);
+    }
+
+    private void release(ImportJob job) {
+        activeJobsByPath.remove(pathKey(job.getFilePath()), job);
+    }
+
+    private static String pathKey(String filePath) {
+        try {
+            return Path.of(filePath).toAbsolutePath().normalize().toString();
+        } catch (InvalidPathException e) {
+            return filePath;
+        }
+    }
+
+    private void run(ImportJob job) {
+        synchronized (job) {
+            if (job.getStatus() != ImportJobStatus.QUEUED) {
+                return;
+            }
+            job.setStatus(ImportJobStatus.RUNNING);
+        }
+        try {
+            ImportSummary summary;
+            try {
+                summary = importService.importFromCsvResumable(job.getFilePath(), job.getProgress(),
+                        job::isCancelRequested, () -> !shuttingDown);
+            } finally {
+                release(job);
+            }
+            job.setSummary(summary);
+            if (summary.getErrorCount(ImportErrorCode.INTERRUPTED) > 0) {
+                finish(job, ImportJobStatus.CANCELLED);
+            } else if (summary.getErrorCount(ImportErrorCode.READ_ERROR) > 0) {
+                job.setFailureMessage(summary.getImportErrors().stream()
+                        .filter(error -> error.getCode() == ImportErrorCode.READ_ERROR)
+                        .map(ImportError::getMessage)
+                        .findFirst()
+                        .orElse(ImportErrorCode.READ_ERROR.describe("")));
+                finish(job, ImportJobStatus.FAILED);
+            } else {
+                finish(job, ImportJobStatus.COMPLETED);
+            }
+        } catch (RuntimeException e) {
+            job.setFailureMessage(e.getMessage());
+            finish(job, ImportJobStatus.FAILED);
+        }
+    }
+}
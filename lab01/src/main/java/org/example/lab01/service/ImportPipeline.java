@@ -0,0 +1,179 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.ImportError;
+import org.example.lab01.model.ImportErrorCode;
+import org.example.lab01.model.ImportSummary;
+import org.example.lab01.model.PipelineStats;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Import w trzech etapach połączonych ograniczonymi kolejkami: odczyt bloków bajtów,
+ * podział na linie z parsowaniem i walidacją oraz wstawianie do EmployeeService w wątku
+ * wywołującym. Bloki odczytu krążą w stałej puli buforów, więc pamięć importu jest ograniczona
+ * niezależnie od rozmiaru pliku, a wolniejszy etap wstrzymuje szybszy.
+ */
+final class ImportPipeline {
+
+    private static final int BLOCK_SIZE = 1024 * 1024;
+    private static final int QUEUE_CAPACITY = 8;
+
+    private static final class Block {
+        final byte[] data = new byte[BLOCK_SIZE];
+        int length;
+    }
+
+    private static final Block END_OF_INPUT = new Block();
+    private static final ParsedRows END_OF_ROWS = new ParsedRows();
+
+    private final EmployeeService employeeService;
+    private final PipelineStats stats;
+    private final BlockingQueue<Block> freeBlocks = new ArrayBlockingQueue<>(QUEUE_CAPACITY + 2);
+    private final BlockingQueue<Block> readBlocks = new ArrayBlockingQueue<>(QUEUE_CAPACITY + 1);
+    private final BlockingQueue<ParsedRows> parsedRows = new ArrayBlockingQueue<>(QUEUE_CAPACITY + 1);
+    private volatile IOException readFailure;
+
+    ImportPipeline(EmployeeService employeeService, PipelineStats stats) {
+        this.employeeService = employeeService;
+        this.stats = stats;
+    }
+
+    void run(InputStream input, ImportSummary summary) throws InterruptedException {
+        for (int i = 0; i < QUEUE_CAPACITY + 2; i++) {
+            freeBlocks.add(new Block());
+        }
+        stats.start();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService stages = Executors.newFixedThreadPool(2, task -> {
+            Thread thread = new Thread(task, "import-pipeline-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Future<Void> reading;
+        Future<Void> parsing;
+        try {
+            reading = stages.submit(() -> read(input));
+            parsing = stages.submit(this::parse);
+            insert(summary);
+        } finally {
+            stages.shutdownNow();
+        }
+        if (readFailure != null) {
+            summary.addError(new ImportError(0, ImportErrorCode.READ_ERROR, readFailure.getMessage()));
+        }
+        reportFailure(parsing, summary);
+        reportFailure(reading, summary);
+    }
+
+    private static void reportFailure(Future<Void> stage, ImportSummary summary) throws InterruptedException {
+        try {
+            stage.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            // Etap przerwany przez shutdownNow po awarii drugiego etapu nie jest osobnym błędem.
+            if (!(cause instanceof InterruptedException)) {
+                String detail = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                summary.addError(new ImportError(0, ImportErrorCode.READ_ERROR, detail));
+            }
+        }
+    }
+
+    /**
+     * Przy przerwaniu lub awarii odbiorca mógł już zakończyć pracę, więc blokujący put mógłby czekać
+     * w nieskończoność. Niedokończone dane są porzucane, a znacznik końca wstawiany bez czekania.
+     */
+    private static <T> void abandon(BlockingQueue<T> queue, T endMarker) {
+        queue.clear();
+        queue.offer(endMarker);
+    }
+
+    private Void read(InputStream input) throws InterruptedException {
+        try {
+            while (true) {
+                Block block = freeBlocks.take();
+                int length = input.readNBytes(block.data, 0, BLOCK_SIZE);
+                if (length == 0) {
+                    break;
+                }
+                block.length = length;
+                readBlocks.put(block);
+                stats.recordRead(length, readBlocks.size());
+            }
+        } catch (IOException e) {
+            readFailure = e;
+        } catch (InterruptedException | RuntimeException e) {
+            abandon(readBlocks, END_OF_INPUT);
+            throw e;
+        }
+        readBlocks.put(END_OF_INPUT);
+        return null;
+    }
+
+    private Void parse() throws InterruptedException {
+        CsvRowParser parser = new CsvRowParser();
+        LineSplitter splitter = new LineSplitter(1);
+        List<ParsedRows> ready = new ArrayList<>();
+        ParsedRows[] current = {new ParsedRows()};
+        LineHandler handler = (line, offset, length, lineNumber) -> {
+            if (lineNumber == 1 || CsvRowParser.isBlank(line, offset, length)) {
+                return;
+            }
+            current[0].parse(parser, line, offset, length, lineNumber);
+            if (current[0].rowCount() == ImportBatch.DEFAULT_SIZE) {
+                ready.add(current[0]);
+                current[0] = new ParsedRows();
+            }
+        };
+        try {
+            while (true) {
+                Block block = readBlocks.take();
+                if (block == END_OF_INPUT) {
+                    break;
+                }
+                splitter.feed(block.data, block.length, handler);
+                freeBlocks.put(block);
+                publish(ready);
+            }
+            splitter.finish(handler);
+            ready.add(current[0]);
+            publish(ready);
+        } catch (InterruptedException | RuntimeException e) {
+            abandon(parsedRows, END_OF_ROWS);
+            throw e;
+        }
+        parsedRows.put(END_OF_ROWS);
+        return null;
+    }
+
+    private void publish(List<ParsedRows> ready) throws InterruptedException {
+        for (ParsedRows rows : ready) {
+            int rowCount = rows.rowCount();
+            parsedRows.put(rows);
+            stats.recordParsed(rowCount, readBlocks.size(), parsedRows.size());
+        }
+        ready.clear();
+    }
+
+    private void insert(ImportSummary summary) throws InterruptedException {
+        while (true) {
+            ParsedRows rows = parsedRows.take();
+            if (rows == END_OF_ROWS) {
+                stats.recordInserted(0, parsedRows.size());
+                return;
+            }
+            int rowCount = rows.rowCount();
+            rows.applyTo(employeeService, summary, 0);
+            stats.recordInserted(rowCount, parsedRows.size());
+        }
+    }
+}
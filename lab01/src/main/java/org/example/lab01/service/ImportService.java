@@ -1,106 +1,216 @@
 package org.example.lab01.service;
 
-import org.example.lab01.model.Employee;
+import org.example.lab01.model.ImportError;
+import org.example.lab01.model.ImportErrorCode;
+import org.example.lab01.model.ImportProgress;
 import org.example.lab01.model.ImportSummary;
-import org.example.lab01.model.Position;
+import org.example.lab01.model.PipelineStats;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
 
 @Service
 public class ImportService {
 
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final long MIN_CHUNK_SIZE = 1024 * 1024;
+    static final int GZIP_BUFFER_SIZE = 256 * 1024;
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+
     @Autowired
     private EmployeeService employeeService;
 
+    private long checkpointIntervalMillis = 1000;
+
+    @Value("${employee.import.checkpoint-interval-ms:1000}")
+    public void setCheckpointIntervalMillis(long checkpointIntervalMillis) {
+        if (checkpointIntervalMillis < 0) {
+            throw new IllegalArgumentException("Interwał punktów kontrolnych nie może być ujemny");
+        }
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
+    }
+
     public ImportSummary importFromCsv(String filePath) {
-        List<String> errors = new ArrayList<>();
-        int importedCount = 0;
-        int lineNumber = 0;
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            boolean isFirstLine = true;
-
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue;
+        if (isGzip(filePath)) {
+            return importFromCsvPipelined(filePath);
+        }
+        ImportSummary summary = new ImportSummary(0);
+        ParsedRows rows = new ParsedRows();
+        CsvRowParser parser = new CsvRowParser();
+
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            new MappedLineReader().read(channel, 0, channel.size(), 1, (line, offset, length, lineNumber) -> {
+                if (lineNumber == 1 || CsvRowParser.isBlank(line, offset, length)) {
+                    return;
                 }
-
-                if (line.trim().isEmpty()) {
-                    continue;
+                rows.parse(parser, line, offset, length, lineNumber);
+                if (rows.rowCount() == ImportBatch.DEFAULT_SIZE) {
+                    rows.applyTo(employeeService, summary, 0);
                 }
+            });
+        } catch (IOException | InvalidPathException e) {
+            rows.applyTo(employeeService, summary, 0);
+            summary.addError(new ImportError(0, ImportErrorCode.READ_ERROR, e.getMessage()));
+            return summary;
+        }
+        rows.applyTo(employeeService, summary, 0);
 
-                try {
-                    Employee employee = parseEmployeeFromCsvLine(line, lineNumber);
-                    if (employee != null) {
-                        boolean added = employeeService.addEmployee(employee);
-                        if (added) {
-                            importedCount++;
-                        } else {
-                            errors.add("Linia " + lineNumber + ": Pracownik z tym emailem już istnieje");
-                        }
-                    }
-                } catch (Exception e) {
-                    errors.add("Linia " + lineNumber + ": " + e.getMessage());
-                }
-            }
+        return summary;
+    }
 
-        } catch (IOException e) {
-            errors.add("Błąd odczytu pliku: " + e.getMessage());
+    public ImportSummary importFromCsvParallel(String filePath, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Liczba wątków musi być dodatnia");
+        }
+        if (isGzip(filePath)) {
+            return importFromCsvPipelined(filePath);
         }
+        ImportSummary summary = new ImportSummary(0);
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            List<Future<CsvChunkParser.Result>> chunks = new ArrayList<>();
+            long[] boundaries = chunkBoundaries(channel, parallelism * CHUNKS_PER_THREAD);
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                chunks.add(workers.submit(new CsvChunkParser(channel, boundaries[i], boundaries[i + 1], i == 0)));
+            }
+            int linesBefore = 0;
+            for (Future<CsvChunkParser.Result> chunk : chunks) {
+                CsvChunkParser.Result result = chunk.get();
+                result.rows.applyTo(employeeService, summary, linesBefore);
+                linesBefore += result.lineCount;
+            }
+        } catch (IOException | InvalidPathException e) {
+            summary.addError(new ImportError(0, ImportErrorCode.READ_ERROR, e.getMessage()));
+        } catch (ExecutionException e) {
+            summary.addError(new ImportError(0, ImportErrorCode.READ_ERROR, e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            summary.addError(new ImportError(0, ImportErrorCode.INTERRUPTED, null));
+        } finally {
+            workers.shutdownNow();
+        }
+        return summary;
+    }
 
-        return new ImportSummary(importedCount, errors);
+    public ImportSummary importFromCsvPipelined(String filePath) {
+        return importFromCsvPipelined(filePath, new PipelineStats());
     }
 
-    private Employee parseEmployeeFromCsvLine(String line, int lineNumber) throws Exception {
-        String[] fields = line.split(",");
-        
-        if (fields.length != 6) {
-            throw new Exception("Nieprawidłowa liczba kolumn (oczekiwano 6, otrzymano " + fields.length + ")");
+    public ImportSummary importFromCsvPipelined(String filePath, PipelineStats stats) {
+        ImportSummary summary = new ImportSummary(0);
+        try (InputStream input = openDecompressed(Path.of(filePath))) {
+            new ImportPipeline(employeeService, stats).run(input, summary);
+        } catch (IOException | InvalidPathException e) {
+            summary.addError(new ImportError(0, ImportErrorCode.READ_ERROR, e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            summary.addError(new ImportError(0, ImportErrorCode.INTERRUPTED, null));
         }
+        return summary;
+    }
 
-        for (int i = 0; i < fields.length; i++) {
-            fields[i] = fields[i].trim();
-        }
+    public ImportSummary importFromCsvResumable(String filePath) {
+        return importFromCsvResumable(filePath, new ImportProgress());
+    }
 
-        String firstName = fields[0];
-        String lastName = fields[1];
-        String email = fields[2];
-        String company = fields[3];
-        String positionStr = fields[4];
-        String salaryStr = fields[5];
+    public ImportSummary importFromCsvResumable(String filePath, ImportProgress progress) {
+        return importFromCsvResumable(filePath, progress, () -> false, () -> true);
+    }
 
-        if (firstName.isEmpty() || lastName.isEmpty() || email.isEmpty() ||
-            company.isEmpty() || positionStr.isEmpty() || salaryStr.isEmpty()) {
-            throw new Exception("Puste pola nie są dozwolone");
+    // keepCheckpointOnCancel == false: anulowany import usuwa punkt kontrolny zamiast go zapisać.
+    ImportSummary importFromCsvResumable(String filePath, ImportProgress progress, BooleanSupplier cancelled,
+                                         BooleanSupplier keepCheckpointOnCancel) {
+        Path file;
+        try {
+            file = Path.of(filePath);
+        } catch (InvalidPathException e) {
+            ImportSummary summary = new ImportSummary(0);
+            summary.addError(new ImportError(0, ImportErrorCode.READ_ERROR, e.getMessage()));
+            return summary;
         }
+        return new ResumableImport(employeeService, progress, checkpointIntervalMillis, cancelled,
+                keepCheckpointOnCancel).run(file);
+    }
 
-        Position position;
-        try {
-            position = Position.valueOf(positionStr.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new Exception("Nieznane stanowisko: " + positionStr);
+    public CsvFollower followCsv(String filePath) {
+        return followCsv(filePath, 0, 1);
+    }
+
+    public CsvFollower followCsv(String filePath, long committedOffset, int nextLineNumber) {
+        return new CsvFollower(employeeService, Path.of(filePath), committedOffset, nextLineNumber);
+    }
+
+    static boolean isGzip(String filePath) {
+        try (InputStream input = Files.newInputStream(Path.of(filePath))) {
+            return input.read() == GZIP_MAGIC_FIRST && input.read() == GZIP_MAGIC_SECOND;
+        } catch (IOException | InvalidPathException e) {
+            return false;
         }
+    }
 
-        double salary;
+    private static InputStream openDecompressed(Path file) throws IOException {
+        InputStream input = Files.newInputStream(file);
         try {
-            salary = Double.parseDouble(salaryStr);
-        } catch (NumberFormatException e) {
-            throw new Exception("Nieprawidłowy format wynagrodzenia: " + salaryStr);
+            if (isGzip(file.toString())) {
+                return new GZIPInputStream(input, GZIP_BUFFER_SIZE);
+            }
+            return input;
+        } catch (IOException e) {
+            input.close();
+            throw e;
         }
+    }
 
-        if (salary <= 0) {
-            throw new Exception("Wynagrodzenie musi być dodatnie, otrzymano: " + salary);
+    private static long[] chunkBoundaries(FileChannel channel, int chunks) throws IOException {
+        long size = channel.size();
+        int count = (int) Math.max(1, Math.min(chunks, size / MIN_CHUNK_SIZE));
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        for (int i = 1; i < count; i++) {
+            long boundary = nextLineStart(channel, Math.max(size * i / count, boundaries.get(boundaries.size() - 1)), probe);
+            if (boundary < size && boundary > boundaries.get(boundaries.size() - 1)) {
+                boundaries.add(boundary);
+            }
         }
+        boundaries.add(size);
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
 
-        return new Employee(firstName, lastName, email, company, position, salary);
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        long size = channel.size();
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
     }
 
     public ImportSummary importData() {
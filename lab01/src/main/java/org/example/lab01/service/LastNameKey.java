@@ -0,0 +1,52 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.Employee;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Klucz indeksu nazwisk: nazwisko, a przy równych nazwiskach unikalny email,
+ * dzięki czemu porządek jest całkowity i nadaje się do stronicowania po kluczu.
+ * Pracownicy bez nazwiska trafiają na koniec. Ten sam porządek stosuje {@link EmployeeSnapshot}.
+ */
+final class LastNameKey implements Comparable<LastNameKey> {
+
+    static final Comparator<Employee> EMPLOYEE_ORDER = Comparator
+            .comparing(Employee::getLastName, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(Employee::getEmail, Comparator.nullsLast(Comparator.<String>naturalOrder()));
+
+    private static final Comparator<LastNameKey> ORDER = Comparator
+            .comparing((LastNameKey key) -> key.lastName, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(key -> key.email, Comparator.nullsLast(Comparator.<String>naturalOrder()));
+
+    private final String lastName;
+    private final String email;
+
+    LastNameKey(String lastName, String email) {
+        this.lastName = lastName;
+        this.email = email;
+    }
+
+    static LastNameKey of(Employee employee) {
+        return new LastNameKey(employee.getLastName(), employee.getEmail());
+    }
+
+    @Override
+    public int compareTo(LastNameKey other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LastNameKey)) return false;
+        LastNameKey other = (LastNameKey) o;
+        return Objects.equals(lastName, other.lastName) && Objects.equals(email, other.email);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(lastName) + Objects.hashCode(email);
+    }
+}
@@ -0,0 +1,5 @@
+package org.example.lab01.service;
+
+interface LineHandler {
+    void onLine(byte[] buffer, int offset, int length, int lineNumber);
+}
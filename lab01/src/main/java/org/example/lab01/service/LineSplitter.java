@@ -0,0 +1,78 @@
+package org.example.lab01.service;
+
+import java.util.Arrays;
+
+/**
+ * Dzieli strumień bloków bajtów na linie, także gdy linia lub para {@code \r\n} przechodzi
+ * przez granicę bloków. Kończy linie tak samo jak {@link MappedLineReader}.
+ */
+final class LineSplitter {
+
+    private byte[] carry = new byte[256];
+    private int carryLength;
+    private boolean skipLineFeed;
+    private int lineNumber;
+
+    LineSplitter(int firstLineNumber) {
+        this.lineNumber = firstLineNumber;
+    }
+
+    void feed(byte[] data, int length, LineHandler handler) {
+        int i = 0;
+        if (skipLineFeed && length > 0) {
+            if (data[0] == '\n') {
+                i = 1;
+            }
+            skipLineFeed = false;
+        }
+        int lineStart = i;
+        for (; i < length; i++) {
+            byte b = data[i];
+            if (b != '\n' && b != '\r') {
+                continue;
+            }
+            emit(data, lineStart, i, handler);
+            if (b == '\r') {
+                if (i + 1 < length) {
+                    if (data[i + 1] == '\n') {
+                        i++;
+                    }
+                } else {
+                    skipLineFeed = true;
+                }
+            }
+            lineStart = i + 1;
+        }
+        append(data, lineStart, length);
+    }
+
+    void finish(LineHandler handler) {
+        if (carryLength > 0) {
+            handler.onLine(carry, 0, carryLength, lineNumber++);
+            carryLength = 0;
+        }
+    }
+
+    int nextLineNumber() {
+        return lineNumber;
+    }
+
+    private void emit(byte[] data, int from, int to, LineHandler handler) {
+        if (carryLength == 0) {
+            handler.onLine(data, from, to - from, lineNumber++);
+            return;
+        }
+        append(data, from, to);
+        handler.onLine(carry, 0, carryLength, lineNumber++);
+        carryLength = 0;
+    }
+
+    private void append(byte[] data, int from, int to) {
+        int length = to - from;
+        if (carryLength + length > carry.length) {
+            carry = Arrays.copyOf(carry, Math.max(carryLength + length, carry.length * 2));
+        }
+        System.arraycopy(data, from, carry, carryLength, length);
+        carryLength += length;
+    }
+}
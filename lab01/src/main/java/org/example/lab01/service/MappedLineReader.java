@@ -0,0 +1,82 @@
+package org.example.lab01.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Czyta linie pliku przez okna mapowane w pamięci ({@link FileChannel#map}). Linia trafia do
+ * handlera jako fragment wielokrotnie używanego bufora bajtów - bez tworzenia obiektów String.
+ * Obsługuje zakończenia linii {@code \n}, {@code \r\n} i {@code \r}, tak jak BufferedReader.
+ */
+final class MappedLineReader {
+
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private byte[] lineBuffer = new byte[256];
+    private long lineEndOffset;
+
+    int read(FileChannel channel, long from, long to, int firstLineNumber, LineHandler handler) throws IOException {
+        int lineNumber = firstLineNumber;
+        long windowStart = from;
+        long windowSize = WINDOW_SIZE;
+        while (windowStart < to) {
+            long windowLength = Math.min(windowSize, to - windowStart);
+            boolean lastWindow = windowStart + windowLength == to;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+            int limit = (int) windowLength;
+            int lineStart = 0;
+            int i = 0;
+            while (i < limit) {
+                byte b = window.get(i);
+                if (b != '\n' && b != '\r') {
+                    i++;
+                    continue;
+                }
+                int next = i + 1;
+                if (b == '\r') {
+                    if (next == limit && !lastWindow) {
+                        break;
+                    }
+                    if (next < limit && window.get(next) == '\n') {
+                        next++;
+                    }
+                }
+                lineEndOffset = windowStart + next;
+                deliver(window, lineStart, i, lineNumber++, handler);
+                lineStart = next;
+                i = next;
+            }
+            if (lastWindow) {
+                if (lineStart < limit) {
+                    lineEndOffset = windowStart + limit;
+                    deliver(window, lineStart, limit, lineNumber++, handler);
+                }
+                break;
+            }
+            if (lineStart == 0) {
+                windowSize = Math.min(windowSize * 2, Integer.MAX_VALUE);
+            } else {
+                windowSize = WINDOW_SIZE;
+            }
+            windowStart += lineStart;
+        }
+        return lineNumber - firstLineNumber;
+    }
+
+    /**
+     * Pozycja w pliku tuż za zakończeniem linii przekazanej właśnie do handlera.
+     */
+    long lineEndOffset() {
+        return lineEndOffset;
+    }
+
+    private void deliver(MappedByteBuffer window, int from, int to, int lineNumber, LineHandler handler) {
+        int length = to - from;
+        if (length > lineBuffer.length) {
+            lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+        }
+        window.get(from, lineBuffer, 0, length);
+        handler.onLine(lineBuffer, 0, length, lineNumber);
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.lab01.service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Dzieli zakres wierszy magazynu na fragmenty, liczy wynik częściowy dla każdego z nich
+ * na własnej puli ForkJoin i scala wyniki łącznym kombinatorem w kolejności wierszy.
+ */
+final class ParallelAnalytics {
+
+    private static final int MIN_SHARD_SIZE = 4096;
+
+    interface Shard<A> {
+        A compute(EmployeeTable.Rows rows, int from, int to);
+    }
+
+    interface Combiner<A> {
+        A combine(A left, A right);
+    }
+
+    private final ForkJoinPool pool;
+
+    ParallelAnalytics(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    int parallelism() {
+        return pool.getParallelism();
+    }
+
+    <A> A reduce(EmployeeTable.Rows rows, Shard<A> shard, Combiner<A> combiner) {
+        int shardSize = Math.max(MIN_SHARD_SIZE, rows.size / (pool.getParallelism() * 4));
+        if (rows.size <= shardSize) {
+            return shard.compute(rows, 0, rows.size);
+        }
+        try {
+            return pool.invoke(new ShardTask<>(rows, 0, rows.size, shardSize, shard, combiner));
+        } catch (RejectedExecutionException e) {
+            return shard.compute(rows, 0, rows.size);
+        }
+    }
+
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private static final class ShardTask<A> extends RecursiveTask<A> {
+        private final EmployeeTable.Rows rows;
+        private final int from;
+        private final int to;
+        private final int shardSize;
+        private final Shard<A> shard;
+        private final Combiner<A> combiner;
+
+        private ShardTask(EmployeeTable.Rows rows, int from, int to, int shardSize,
+                          Shard<A> shard, Combiner<A> combiner) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.shardSize = shardSize;
+            this.shard = shard;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= shardSize) {
+                return shard.compute(rows, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ShardTask<A> left = new ShardTask<>(rows, from, middle, shardSize, shard, combiner);
+            ShardTask<A> right = new ShardTask<>(rows, middle, to, shardSize, shard, combiner);
+            left.fork();
+            A rightResult = right.compute();
+            return combiner.combine(left.join(), rightResult);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.BatchAddResult;
+import org.example.lab01.model.Employee;
+import org.example.lab01.model.ImportErrorCode;
+import org.example.lab01.model.ImportSummary;
+import org.example.lab01.model.LineRange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wynik parsowania kolejnych wierszy: poprawni pracownicy czekający na wstawienie oraz błędy
+ * z numerami linii. Może być wypełniany w innym wątku niż ten, który zapisuje go do ImportSummary.
+ * Numer linii, kod i szczegóły są trzymane tylko dla pierwszych
+ * {@link ImportSummary#DEFAULT_MAX_DETAILED_ERRORS} błędów, bo więcej podsumowanie i tak nie zachowa;
+ * dalsze błędy to tylko liczniki i zakresy linii per kod, więc pamięć fragmentu nie rośnie
+ * z liczbą błędnych wierszy. Szczegół błędu jest dekodowany z linii tylko wtedy, gdy podsumowanie,
+ * do którego trafiła poprzednia partia, ma jeszcze na niego miejsce.
+ */
+final class ParsedRows {
+
+    private static final int MAX_DETAILED_ERRORS = ImportSummary.DEFAULT_MAX_DETAILED_ERRORS;
+    private static final ImportErrorCode[] CODES = ImportErrorCode.values();
+
+    private final ImportBatch batch = new ImportBatch(ImportBatch.DEFAULT_SIZE);
+    private final List<Object> errorDetails = new ArrayList<>();
+    private int[] errorLines = new int[16];
+    private ImportErrorCode[] errorCodes = new ImportErrorCode[16];
+    private int errorCount;
+    private final int[] overflowCounts = new int[CODES.length];
+    private final Map<ImportErrorCode, List<LineRange>> overflowRanges = new EnumMap<>(ImportErrorCode.class);
+    private int rowCount;
+    private int detailsRemaining = MAX_DETAILED_ERRORS;
+
+    void parse(CsvRowParser parser, byte[] line, int offset, int length, int lineNumber) {
+        rowCount++;
+        Employee employee = parser.parse(line, offset, length);
+        if (employee != null) {
+            batch.add(employee, lineNumber);
+        } else {
+            addError(lineNumber, parser);
+        }
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Wstawia poprawne wiersze i dopisuje do podsumowania błędy parsowania przeplecione
+     * z odrzuconymi duplikatami, tak żeby błędy były w kolejności linii.
+     */
+    void applyTo(EmployeeService employeeService, ImportSummary summary, int lineOffset) {
+        summary.addProcessedRows(rowCount);
+        batch.shiftLineNumbers(lineOffset);
+        int nextError = 0;
+        if (batch.size() > 0) {
+            BatchAddResult result = batch.insert(employeeService);
+            summary.addImportedRows(result.getAcceptedCount());
+            for (int i = 0; i < result.size(); i++) {
+                if (result.isAccepted(i)) {
+                    continue;
+                }
+                int duplicateLine = batch.lineNumber(i);
+                while (nextError < errorCount && errorLines[nextError] + lineOffset < duplicateLine) {
+                    addParseError(summary, nextError++, lineOffset);
+                }
+                summary.addError(duplicateLine, ImportErrorCode.DUPLICATE_EMAIL, null);
+            }
+            batch.clear();
+        }
+        while (nextError < errorCount) {
+            addParseError(summary, nextError++, lineOffset);
+        }
+        addOverflowErrors(summary, lineOffset);
+        errorDetails.clear();
+        errorCount = 0;
+        rowCount = 0;
+        detailsRemaining = Math.min(MAX_DETAILED_ERRORS,
+                summary.getMaxDetailedErrors() - summary.getImportErrors().size());
+    }
+
+    // Błędy ponad limit leżą za wszystkimi szczegółowymi, a podsumowanie ma już wtedy komplet szczegółów.
+    private void addOverflowErrors(ImportSummary summary, int lineOffset) {
+        for (ImportErrorCode code : CODES) {
+            int count = overflowCounts[code.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            List<LineRange> ranges = overflowRanges.getOrDefault(code, List.of());
+            List<LineRange> shifted = new ArrayList<>(ranges.size());
+            for (LineRange range : ranges) {
+                shifted.add(new LineRange(range.getFirstLine() + lineOffset, range.getLastLine() + lineOffset));
+            }
+            summary.addLineErrors(code, count, shifted);
+        }
+        Arrays.fill(overflowCounts, 0);
+        overflowRanges.clear();
+    }
+
+    private void addParseError(ImportSummary summary, int index, int lineOffset) {
+        summary.addError(errorLines[index] + lineOffset, errorCodes[index], errorDetails.get(index));
+    }
+
+    private void addError(int lineNumber, CsvRowParser parser) {
+        ImportErrorCode code = parser.errorCode();
+        if (errorCount == MAX_DETAILED_ERRORS) {
+            addOverflowError(lineNumber, code);
+            return;
+        }
+        if (errorCount == errorLines.length) {
+            errorLines = Arrays.copyOf(errorLines, Math.min(errorCount * 2, MAX_DETAILED_ERRORS));
+            errorCodes = Arrays.copyOf(errorCodes, errorLines.length);
+        }
+        errorLines[errorCount] = lineNumber;
+        errorCodes[errorCount] = code;
+        errorDetails.add(errorCount < detailsRemaining ? parser.errorDetail() : null);
+        errorCount++;
+    }
+
+    private void addOverflowError(int lineNumber, ImportErrorCode code) {
+        overflowCounts[code.ordinal()]++;
+        List<LineRange> ranges = overflowRanges.computeIfAbsent(code, c -> new ArrayList<>());
+        LineRange last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+        if (last != null && lineNumber == last.getLastLine() + 1) {
+            last.setLastLine(lineNumber);
+        } else if (ranges.size() < MAX_DETAILED_ERRORS) {
+            ranges.add(new LineRange(lineNumber, lineNumber));
+        }
+    }
+}
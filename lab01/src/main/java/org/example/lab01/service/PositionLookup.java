@@ -0,0 +1,55 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.Position;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Wyszukuje stanowisko po nazwie zapisanej w bajtach, bez rozróżniania wielkości liter.
+ * Nazwy ASCII są porównywane bezpośrednio z tablicą nazw; tylko tekst z bajtami spoza ASCII
+ * jest dekodowany i przechodzi przez {@code toUpperCase}, tak jak przy {@code Position.valueOf}.
+ */
+final class PositionLookup {
+
+    private static final Position[] POSITIONS = Position.values();
+    private static final byte[][] NAMES = Arrays.stream(POSITIONS)
+            .map(position -> position.name().getBytes(StandardCharsets.US_ASCII))
+            .toArray(byte[][]::new);
+    private static final Map<String, Position> POSITIONS_BY_NAME = Arrays.stream(POSITIONS)
+            .collect(Collectors.toUnmodifiableMap(Position::name, position -> position));
+
+    private PositionLookup() {
+    }
+
+    static Position find(byte[] buffer, int from, int to) {
+        int length = to - from;
+        for (int i = from; i < to; i++) {
+            if (buffer[i] < 0) {
+                String name = new String(buffer, from, length, StandardCharsets.UTF_8);
+                return POSITIONS_BY_NAME.get(name.toUpperCase());
+            }
+        }
+        for (int p = 0; p < NAMES.length; p++) {
+            if (matches(NAMES[p], buffer, from, length)) {
+                return POSITIONS[p];
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(byte[] name, byte[] buffer, int from, int length) {
+        if (name.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            // nazwy stanowisk składają się tylko z liter A-Z, więc wyzerowanie bitu 0x20 daje wielką literę
+            if ((buffer[from + i] & 0xDF) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
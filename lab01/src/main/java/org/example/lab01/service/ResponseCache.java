@@ -0,0 +1,124 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.ApiCacheStats;
+import org.example.lab01.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pamięć podręczna sparsowanych odpowiedzi API według adresu URL, z wypieraniem najdawniej
+ * używanych wpisów (LRU). Wpis przechowuje walidatory ETag i Last-Modified do zapytań warunkowych.
+ * Pracownicy są kopiowani przy zapisie i odczycie, bo Employee jest modyfikowalny.
+ */
+final class ResponseCache {
+
+    static final class Entry {
+        private final List<Employee> employees;
+        private final String etag;
+        private final String lastModified;
+        private final long storedAtNanos;
+
+        private Entry(List<Employee> employees, String etag, String lastModified, long storedAtNanos) {
+            this.employees = employees;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.storedAtNanos = storedAtNanos;
+        }
+
+        String etag() {
+            return etag;
+        }
+
+        String lastModified() {
+            return lastModified;
+        }
+
+        List<Employee> employees() {
+            return copyOf(employees);
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private volatile long ttlNanos;
+    private int maxEntries;
+
+    ResponseCache(long ttlMillis, int maxEntries) {
+        setTtlMillis(ttlMillis);
+        setMaxEntries(maxEntries);
+    }
+
+    void setTtlMillis(long ttlMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000;
+    }
+
+    synchronized void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        evictOverflow();
+    }
+
+    synchronized Entry get(String url) {
+        return entries.get(url);
+    }
+
+    boolean isFresh(Entry entry) {
+        return System.nanoTime() - entry.storedAtNanos < ttlNanos;
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    synchronized void revalidated(String url, Entry entry) {
+        revalidations.incrementAndGet();
+        if (entries.containsKey(url)) {
+            entries.put(url, new Entry(entry.employees, entry.etag, entry.lastModified, System.nanoTime()));
+        }
+    }
+
+    synchronized void store(String url, List<Employee> employees, String etag, String lastModified) {
+        if (maxEntries == 0) {
+            return;
+        }
+        entries.put(url, new Entry(copyOf(employees), etag, lastModified, System.nanoTime()));
+        evictOverflow();
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized ApiCacheStats stats() {
+        return new ApiCacheStats(hits.get(), misses.get(), revalidations.get(), evictions.get(), entries.size());
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static List<Employee> copyOf(List<Employee> employees) {
+        List<Employee> copy = new ArrayList<>(employees.size());
+        for (Employee e : employees) {
+            copy.add(new Employee(e.getFirstName(), e.getLastName(), e.getEmail(), e.getCompanyName(),
+                    e.getPosition(), e.getSalary()));
+        }
+        return copy;
+    }
+}
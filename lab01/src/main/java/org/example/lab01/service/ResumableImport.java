@@ -0,0 +1,208 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.ImportCheckpoint;
+import org.example.lab01.model.ImportError;
+import org.example.lab01.model.ImportErrorCode;
+import org.example.lab01.model.ImportProgress;
+import org.example.lab01.model.ImportSummary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Import z punktami kontrolnymi. Punkt jest zapisywany tylko po wstawieniu paczki, więc wskazuje
+ * granicę linii, przed którą wszystkie wiersze są już w EmployeeService - wznowienie od niego
+ * nie wstawia niczego drugi raz. Punkt przenosi liczniki wierszy i błędów (w tym duplikatów i błędnych
+ * wierszy), więc podsumowanie wznowionego importu ma te same liczby co import bez przerwy;
+ * szczegóły błędów sprzed wznowienia nie są odtwarzane. Punkt pamięta rozmiar i czas modyfikacji pliku, więc plik podmieniony
+ * od tamtej pory jest importowany od początku. Pamięta też identyfikator magazynu: EmployeeService
+ * trzyma dane tylko w pamięci, więc punkt zapisany dla innej instancji (np. przed restartem procesu)
+ * wskazuje wiersze, których w tym magazynie nie ma - taki punkt jest usuwany, a import zaczyna się od początku.
+ * Tak samo traktowany jest punkt uszkodzony albo nieczytelny.
+ * Po udanym imporcie punkt kontrolny jest usuwany.
+ * Anulowanie jest sprawdzane po każdej paczce; przerwany import zostawia punkt kontrolny, chyba że
+ * wywołujący tego nie chce (np. anulowanie przy zamykaniu aplikacji, po którym magazyn w pamięci przepada).
+ * W pliku gzip nie da się przeskoczyć do przesunięcia, więc wznowienie rozpakowuje go od początku
+ * i pomija linie przed zapisanym numerem linii; przesunięcie w punkcie dotyczy wtedy danych skompresowanych.
+ */
+final class ResumableImport implements LineHandler {
+
+    private static final int COMPRESSED_BLOCK_SIZE = 256 * 1024;
+
+    private final EmployeeService employeeService;
+    private final ImportProgress progress;
+    private final long checkpointIntervalNanos;
+    private final BooleanSupplier cancelled;
+    private final BooleanSupplier keepCheckpointOnCancel;
+    private final CsvRowParser parser = new CsvRowParser();
+    private final ParsedRows rows = new ParsedRows();
+    private final MappedLineReader reader = new MappedLineReader();
+    private final ImportSummary summary = new ImportSummary(0);
+    private CheckpointFile checkpoints;
+    private long lineEndOffset;
+    private int nextLineNumber = 1;
+    private long lastCheckpointNanos;
+    private long fileSize;
+    private long lastModifiedMillis;
+    private boolean started;
+    private IOException checkpointFailure;
+    private long compressedOffset;
+
+    ResumableImport(EmployeeService employeeService, ImportProgress progress, long checkpointIntervalMillis,
+                    BooleanSupplier cancelled, BooleanSupplier keepCheckpointOnCancel) {
+        this.employeeService = employeeService;
+        this.progress = progress;
+        this.checkpointIntervalNanos = checkpointIntervalMillis * 1_000_000;
+        this.cancelled = cancelled;
+        this.keepCheckpointOnCancel = keepCheckpointOnCancel;
+    }
+
+    ImportSummary run(Path file) {
+        checkpoints = new CheckpointFile(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            fileSize = channel.size();
+            lastModifiedMillis = Files.getLastModifiedTime(file).toMillis();
+            ImportCheckpoint checkpoint = savedCheckpoint();
+            if (checkpoint == null) {
+                deleteCheckpoint();
+                checkpoint = new ImportCheckpoint(0, 1, 0, 0, Map.of(), fileSize, lastModifiedMillis,
+                        employeeService.storeId());
+            }
+            lineEndOffset = checkpoint.getByteOffset();
+            nextLineNumber = checkpoint.getNextLineNumber();
+            summary.setImportedCount(checkpoint.getImportedCount());
+            summary.addProcessedRows(checkpoint.getProcessedCount());
+            checkpoint.getErrorCounts().forEach((code, count) -> summary.addLineErrors(code, count, List.of()));
+            boolean gzip = ImportService.isGzip(file.toString());
+            if (gzip) {
+                lineEndOffset = 0;
+            }
+            progress.start(fileSize, lineEndOffset);
+            started = true;
+            lastCheckpointNanos = System.nanoTime();
+
+            if (gzip) {
+                readCompressed(channel, nextLineNumber);
+            } else {
+                reader.read(channel, lineEndOffset, fileSize, nextLineNumber, this);
+            }
+            commit(false);
+            deleteCheckpoint();
+        } catch (IOException e) {
+            commit(started);
+            summary.addError(new ImportError(0, ImportErrorCode.READ_ERROR, e.getMessage()));
+        } catch (ImportCancelledException e) {
+            boolean keepCheckpoint = keepCheckpointOnCancel.getAsBoolean();
+            commit(keepCheckpoint);
+            if (!keepCheckpoint) {
+                deleteCheckpoint();
+            }
+            summary.addError(new ImportError(0, ImportErrorCode.INTERRUPTED, null));
+        }
+        if (checkpointFailure != null) {
+            summary.addError(new ImportError(0, ImportErrorCode.CHECKPOINT_ERROR, checkpointFailure.getMessage()));
+        }
+        return summary;
+    }
+
+    // Punkt, którego nie da się odczytać, nie może blokować importu - plik jest wtedy importowany od początku.
+    private ImportCheckpoint savedCheckpoint() {
+        try {
+            return checkpoints.read()
+                    .filter(this::appliesToThisRun)
+                    .orElse(null);
+        } catch (IOException e) {
+            checkpointFailure = e;
+            return null;
+        }
+    }
+
+    private boolean appliesToThisRun(ImportCheckpoint saved) {
+        return saved.getFileSize() == fileSize
+                && saved.getLastModifiedMillis() == lastModifiedMillis
+                && employeeService.storeId().equals(saved.getStoreId());
+    }
+
+    private void deleteCheckpoint() {
+        try {
+            checkpoints.delete();
+        } catch (IOException e) {
+            if (checkpointFailure == null) {
+                checkpointFailure = e;
+            }
+        }
+    }
+
+    private void readCompressed(FileChannel channel, int resumeLineNumber) throws IOException {
+        InputStream input = new GZIPInputStream(Channels.newInputStream(channel), ImportService.GZIP_BUFFER_SIZE);
+        LineSplitter splitter = new LineSplitter(1);
+        LineHandler handler = (line, offset, length, lineNumber) -> {
+            if (lineNumber >= resumeLineNumber) {
+                lineEndOffset = compressedOffset;
+                handleLine(line, offset, length, lineNumber);
+            }
+        };
+        byte[] block = new byte[COMPRESSED_BLOCK_SIZE];
+        int read;
+        while ((read = input.read(block)) != -1) {
+            compressedOffset = channel.position();
+            splitter.feed(block, read, handler);
+        }
+        compressedOffset = fileSize;
+        splitter.finish(handler);
+        lineEndOffset = fileSize;
+    }
+
+    @Override
+    public void onLine(byte[] line, int offset, int length, int lineNumber) {
+        lineEndOffset = reader.lineEndOffset();
+        handleLine(line, offset, length, lineNumber);
+    }
+
+    private void handleLine(byte[] line, int offset, int length, int lineNumber) {
+        nextLineNumber = lineNumber + 1;
+        if (lineNumber == 1 || CsvRowParser.isBlank(line, offset, length)) {
+            return;
+        }
+        rows.parse(parser, line, offset, length, lineNumber);
+        if (rows.rowCount() == ImportBatch.DEFAULT_SIZE) {
+            commit(System.nanoTime() - lastCheckpointNanos >= checkpointIntervalNanos);
+            if (cancelled.getAsBoolean()) {
+                throw new ImportCancelledException();
+            }
+        }
+    }
+
+    private void commit(boolean writeCheckpoint) {
+        int rowCount = rows.rowCount();
+        rows.applyTo(employeeService, summary, 0);
+        progress.record(lineEndOffset, rowCount, summary.getImportedCount(), summary.getDuplicateCount(),
+                summary.getInvalidCount());
+        if (!writeCheckpoint || checkpointFailure != null) {
+            return;
+        }
+        try {
+            checkpoints.write(new ImportCheckpoint(lineEndOffset, nextLineNumber,
+                    summary.getImportedCount(), summary.getProcessedCount(), summary.getErrorCounts(),
+                    fileSize, lastModifiedMillis, employeeService.storeId()));
+            lastCheckpointNanos = System.nanoTime();
+        } catch (IOException e) {
+            checkpointFailure = e;
+        }
+    }
+
+    private static final class ImportCancelledException extends RuntimeException {
+        private ImportCancelledException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.Employee;
+import org.example.lab01.model.Position;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Niezmienny stan magazynu z jednej chwili: wiersze tabeli, widoki indeksów firm i stanowisk
+ * oraz agregaty firm. Pisarz buduje nowy stan pod blokadą zapisu i publikuje go jednym zapisem
+ * volatile, więc migawka odpowiada z indeksów zamiast skanować wiersze. Nowy stan kopiuje mapę
+ * firm, czyli zapis kosztuje O(liczba firm); addAll płaci ten koszt raz na paczkę.
+ */
+final class StoreState {
+
+    static final class Company {
+        final List<Employee> employees;
+        final CompanyAggregate aggregate;
+
+        Company(List<Employee> employees, CompanyAggregate aggregate) {
+            this.employees = employees;
+            this.aggregate = aggregate;
+        }
+    }
+
+    final EmployeeTable.Rows rows;
+    final Map<String, Company> companies;
+    final Map<Position, List<Employee>> employeesByPosition;
+
+    StoreState(EmployeeTable.Rows rows, Map<String, Company> companies,
+               Map<Position, List<Employee>> employeesByPosition) {
+        this.rows = rows;
+        this.companies = companies;
+        this.employeesByPosition = employeesByPosition;
+    }
+}
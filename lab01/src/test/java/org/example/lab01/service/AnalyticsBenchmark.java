@@ -0,0 +1,116 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Analizy na kolumnowym magazynie (sekwencyjnie i na ForkJoinPool przy parallelism = 1..16)
+ * wobec pierwotnych strumieni po liście obiektów {@link Employee}.
+ * Warianty {@code stream_*} nie zależą od parametru parallelism.
+ * Większy magazyn: {@code -Dbenchmark="AnalyticsBenchmark -p employees=10000000"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AnalyticsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Employees {
+
+        @Param({"1000000"})
+        private int employees;
+
+        private List<Employee> list;
+
+        @Setup
+        public void setUp() {
+            list = new ArrayList<>(employees);
+            for (int i = 0; i < employees; i++) {
+                list.add(BenchmarkData.employee(i));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Store {
+
+        @Param({"1", "2", "4", "8", "16"})
+        private int parallelism;
+
+        private EmployeeService employeeService;
+
+        @Setup
+        public void setUp(Employees employees) {
+            employeeService = new EmployeeService();
+            employeeService.addAll(employees.list);
+            employeeService.setAnalyticsParallelism(parallelism);
+        }
+
+        @TearDown
+        public void tearDown() {
+            employeeService.shutdownAnalytics();
+        }
+    }
+
+    @Benchmark
+    public double averageSalary(Store store) {
+        return store.employeeService.snapshot().getAverageSalary();
+    }
+
+    @Benchmark
+    public Optional<Employee> highestPaid(Store store) {
+        return store.employeeService.snapshot().getHighestPaidEmployee();
+    }
+
+    @Benchmark
+    public List<Employee> validateSalaryConsistency(Store store) {
+        return store.employeeService.snapshot().validateSalaryConsistency();
+    }
+
+    @Benchmark
+    public List<Employee> sortByLastName(Store store) {
+        return store.employeeService.snapshot().sortByLastName();
+    }
+
+    @Benchmark
+    public double stream_averageSalary(Employees employees) {
+        return employees.list.stream().mapToDouble(Employee::getSalary).average().orElse(0.0);
+    }
+
+    @Benchmark
+    public Optional<Employee> stream_highestPaid(Employees employees) {
+        return employees.list.stream().max(Comparator.comparing(Employee::getSalary));
+    }
+
+    @Benchmark
+    public List<Employee> stream_validateSalaryConsistency(Employees employees) {
+        return employees.list.stream()
+                .filter(employee -> employee.getSalary() < employee.getPosition().getBaseSalary())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> stream_sortByLastName(Employees employees) {
+        return employees.list.stream().sorted(Comparator.comparing(Employee::getLastName)).toList();
+    }
+}
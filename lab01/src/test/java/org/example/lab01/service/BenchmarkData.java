@@ -0,0 +1,72 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.Employee;
+import org.example.lab01.model.Position;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Dane wejściowe wspólne dla benchmarków JMH: deterministyczne wiersze CSV
+ * (stanowiska w różnej wielkości liter, wynagrodzenia z częścią dziesiętną) i pracownicy.
+ */
+final class BenchmarkData {
+
+    static final String HEADER = "firstName,lastName,email,company,position,salary";
+
+    private static final Position[] POSITIONS = Position.values();
+    private static final String[] COMPANIES = {"TechCorp", "DataCorp", "CloudCorp", "WebCorp"};
+
+    private BenchmarkData() {
+    }
+
+    static String csvLine(int i) {
+        Position position = POSITIONS[i % POSITIONS.length];
+        String positionName = i % 2 == 0 ? position.name() : position.name().toLowerCase();
+        return "Jan" + i + ", Kowalski" + (i * 7919L % 100_003) + ",user" + i + "@example.com,"
+                + COMPANIES[i % COMPANIES.length] + "," + positionName + ","
+                + ((int) position.getBaseSalary() + i % 1000) + "." + (i % 100);
+    }
+
+    static Employee employee(int i) {
+        Position position = POSITIONS[i % POSITIONS.length];
+        return new Employee("Jan" + i, "Kowalski" + (i * 7919L % 100_003), "user" + i + "@example.com",
+                COMPANIES[i % COMPANIES.length], position, position.getBaseSalary() - 500 + i % 2000);
+    }
+
+    static Path writeCsv(int rows, boolean gzip) throws IOException {
+        Path file = Files.createTempFile("employees-" + rows, gzip ? ".csv.gz" : ".csv");
+        file.toFile().deleteOnExit();
+        try (OutputStream output = gzip
+                ? new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024)
+                : Files.newOutputStream(file);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (int i = 0; i < rows; i++) {
+                writer.write(csvLine(i));
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+
+    static ImportService importService(EmployeeService employeeService) {
+        ImportService importService = new ImportService();
+        try {
+            Field field = ImportService.class.getDeclaredField("employeeService");
+            field.setAccessible(true);
+            field.set(importService, employeeService);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Nie można wstrzyknąć EmployeeService", e);
+        }
+        return importService;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.CompanyStatistics;
+import org.example.lab01.model.Employee;
+import org.example.lab01.model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Przepustowość {@link EmployeeService} przy jednoczesnych zapisach i odczytach. Grupa {@code readWrite}
+ * to jeden wątek dodający pracowników i po jednym wątku na każde zapytanie; grupa {@code write}
+ * to kilka wątków dodających naraz, które rywalizują o blokadę zapisu. Magazyn jest odtwarzany
+ * przed każdą iteracją, bo zapisy go powiększają.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Group)
+public class ConcurrentStoreBenchmark {
+
+    @Param({"100000"})
+    private int initialEmployees;
+
+    private EmployeeService employeeService;
+    private AtomicInteger nextEmployee;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        List<Employee> employees = new ArrayList<>(initialEmployees);
+        for (int i = 0; i < initialEmployees; i++) {
+            employees.add(BenchmarkData.employee(i));
+        }
+        employeeService = new EmployeeService();
+        employeeService.addAll(employees);
+        nextEmployee = new AtomicInteger(initialEmployees);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public boolean readWrite_addEmployee() {
+        return employeeService.addEmployee(BenchmarkData.employee(nextEmployee.getAndIncrement()));
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public List<Employee> readWrite_findByCompany() {
+        return employeeService.findByCompany("TechCorp");
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public Map<Position, List<Employee>> readWrite_groupByPosition() {
+        return employeeService.groupByPosition();
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public Map<String, CompanyStatistics> readWrite_getCompanyStatistics() {
+        return employeeService.getCompanyStatistics();
+    }
+
+    @Benchmark
+    @Group("write")
+    @GroupThreads(4)
+    public boolean write_addEmployee() {
+        return employeeService.addEmployee(BenchmarkData.employee(nextEmployee.getAndIncrement()));
+    }
+}
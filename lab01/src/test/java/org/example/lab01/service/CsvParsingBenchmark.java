@@ -0,0 +1,128 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.Employee;
+import org.example.lab01.model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Koszt parsowania jednego wiersza: bajtowy {@link CsvRowParser} z {@link PositionLookup}
+ * i {@link DecimalParser} wobec pierwotnego {@code split(",")} + {@code trim()} +
+ * {@code Position.valueOf(toUpperCase())} + {@code Double.parseDouble}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CsvParsingBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private final byte[][] lines = new byte[ROWS][];
+    private final String[] textLines = new String[ROWS];
+    private final byte[][] positions = new byte[ROWS][];
+    private final String[] positionNames = new String[ROWS];
+    private final byte[][] salaries = new byte[ROWS][];
+    private final String[] salaryTexts = new String[ROWS];
+    private final CsvRowParser parser = new CsvRowParser();
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            String line = BenchmarkData.csvLine(i);
+            String[] fields = line.split(",");
+            textLines[i] = line;
+            lines[i] = line.getBytes(StandardCharsets.UTF_8);
+            positionNames[i] = fields[4];
+            positions[i] = fields[4].getBytes(StandardCharsets.UTF_8);
+            salaryTexts[i] = fields[5];
+            salaries[i] = fields[5].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void parseRow_csvRowParser(Blackhole blackhole) {
+        for (byte[] line : lines) {
+            blackhole.consume(parser.parse(line, 0, line.length));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void parseRow_splitAndTrim(Blackhole blackhole) {
+        for (String line : textLines) {
+            blackhole.consume(parseWithSplit(line));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void position_lookupTable(Blackhole blackhole) {
+        for (byte[] position : positions) {
+            blackhole.consume(PositionLookup.find(position, 0, position.length));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void position_valueOf(Blackhole blackhole) {
+        for (String position : positionNames) {
+            blackhole.consume(Position.valueOf(position.toUpperCase()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void salary_decimalParser(Blackhole blackhole) {
+        for (byte[] salary : salaries) {
+            blackhole.consume(DecimalParser.parse(salary, 0, salary.length));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void salary_parseDouble(Blackhole blackhole) {
+        for (String salary : salaryTexts) {
+            blackhole.consume(Double.parseDouble(salary));
+        }
+    }
+
+    // Pierwotne ImportService.parseEmployeeFromCsvLine, bez komunikatów błędów.
+    static Employee parseWithSplit(String line) {
+        String[] fields = line.split(",");
+        if (fields.length != 6) {
+            return null;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = fields[i].trim();
+            if (fields[i].isEmpty()) {
+                return null;
+            }
+        }
+        Position position;
+        double salary;
+        try {
+            position = Position.valueOf(fields[4].toUpperCase());
+            salary = Double.parseDouble(fields[5]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return salary > 0 ? new Employee(fields[0], fields[1], fields[2], fields[3], position, salary) : null;
+    }
+}
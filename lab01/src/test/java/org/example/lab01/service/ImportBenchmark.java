@@ -0,0 +1,93 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.Employee;
+import org.example.lab01.model.ImportSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Czas importu całego pliku (parsowanie + wstawienie do pustego {@link EmployeeService}) w zależności
+ * od liczby wierszy: odczyt przez zmapowany FileChannel, pierwotny BufferedReader ze {@code split(",")}
+ * oraz plik .csv.gz dekompresowany strumieniowo. Przepustowość w MB/s to rozmiar pliku podzielony
+ * przez czas operacji. Większe pliki: {@code -Dbenchmark="ImportBenchmark -p rows=5000000"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private Path plainFile;
+    private Path gzipFile;
+    private EmployeeService employeeService;
+    private ImportService importService;
+
+    @Setup(Level.Trial)
+    public void writeFiles() throws IOException {
+        plainFile = BenchmarkData.writeCsv(rows, false);
+        gzipFile = BenchmarkData.writeCsv(rows, true);
+    }
+
+    @Setup(Level.Invocation)
+    public void freshService() {
+        employeeService = new EmployeeService();
+        importService = BenchmarkData.importService(employeeService);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(plainFile);
+        Files.deleteIfExists(gzipFile);
+    }
+
+    @Benchmark
+    public ImportSummary importFromCsv_mapped() {
+        return importService.importFromCsv(plainFile.toString());
+    }
+
+    @Benchmark
+    public ImportSummary importFromCsv_gzip() {
+        return importService.importFromCsv(gzipFile.toString());
+    }
+
+    @Benchmark
+    public int bufferedReaderWithSplit() throws IOException {
+        int imported = 0;
+        try (BufferedReader reader = Files.newBufferedReader(plainFile)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                Employee employee = CsvParsingBenchmark.parseWithSplit(line);
+                if (employee != null && employeeService.addEmployee(employee)) {
+                    imported++;
+                }
+            }
+        }
+        return imported;
+    }
+}
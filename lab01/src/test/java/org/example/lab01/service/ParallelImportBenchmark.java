@@ -0,0 +1,63 @@
+package org.example.lab01.service;
+
+import org.example.lab01.model.ImportSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skalowanie {@link ImportService#importFromCsvParallel} z liczbą wątków parsujących.
+ * Przyspieszenie to czas dla threads=1 podzielony przez czas dla danej liczby wątków.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ParallelImportBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int threads;
+
+    private Path file;
+    private ImportService importService;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        file = BenchmarkData.writeCsv(rows, false);
+    }
+
+    @Setup(Level.Invocation)
+    public void freshService() {
+        importService = BenchmarkData.importService(new EmployeeService());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ImportSummary importFromCsvParallel() {
+        return importService.importFromCsvParallel(file.toString(), threads);
+    }
+}
@@ -0,0 +1,268 @@
+package service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.lab01.exception.ApiException;
+import org.example.lab01.model.ApiFetchResult;
+import org.example.lab01.model.Employee;
+import org.example.lab01.service.ApiService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiServiceResilienceTest {
+
+    private static final String USERS_JSON = """
+            [{"name": "Jan Kowalski", "email": "jan@example.com", "company": {"name": "TechCorp"}}]
+            """;
+
+    @FunctionalInterface
+    private interface StubBehaviour {
+        void handle(HttpExchange exchange, int requestNumber) throws IOException;
+    }
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch releaseSlowResponses = new CountDownLatch(1);
+    private volatile StubBehaviour behaviour;
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private ApiService apiService;
+    private String usersUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/users", exchange -> {
+            try (exchange) {
+                behaviour.handle(exchange, requests.incrementAndGet());
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+        usersUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/users";
+
+        apiService = new ApiService();
+        apiService.setRetryInitialBackoffMillis(1);
+        apiService.setRetryMaxBackoffMillis(5);
+        apiService.setRequestTimeoutMillis(5000);
+        apiService.setCacheMaxEntries(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowResponses.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    @Test
+    @DisplayName("Przejściowe błędy 503 powinny zostać ponowione")
+    void fetchEmployeesFromApi_transientServerErrors_retriesUntilSuccess() {
+        behaviour = (exchange, n) -> respond(exchange, n <= 2 ? 503 : 200, n <= 2 ? "Service Unavailable" : USERS_JSON);
+
+        List<Employee> employees = apiService.fetchEmployeesFromApi(usersUrl);
+
+        assertEquals(1, employees.size());
+        assertEquals(3, requests.get());
+        assertFalse(apiService.isCircuitOpen(usersUrl));
+    }
+
+    @Test
+    @DisplayName("Błąd 404 nie powinien być ponawiany")
+    void fetchEmployeesFromApi_notFound_doesNotRetry() {
+        behaviour = (exchange, n) -> respond(exchange, 404, "Not Found");
+
+        ApiException exception = assertThrows(ApiException.class, () -> apiService.fetchEmployeesFromApi(usersUrl));
+
+        assertEquals("Błąd HTTP: 404 - Not Found", exception.getMessage());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    @DisplayName("Po wyczerpaniu ponowień powinien zostać zgłoszony ostatni błąd HTTP")
+    void fetchEmployeesFromApi_persistentServerError_throwsAfterRetries() {
+        apiService.setMaxRetries(3);
+        behaviour = (exchange, n) -> respond(exchange, 500, "Internal Server Error");
+
+        ApiException exception = assertThrows(ApiException.class, () -> apiService.fetchEmployeesFromApi(usersUrl));
+
+        assertEquals("Błąd HTTP: 500 - Internal Server Error", exception.getMessage());
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    @DisplayName("Zerwane połączenie powinno zostać ponowione")
+    void fetchEmployeesFromApi_connectionDropped_retries() {
+        behaviour = (exchange, n) -> {
+            if (n == 1) {
+                exchange.getResponseBody().close();
+                return;
+            }
+            respond(exchange, 200, USERS_JSON);
+        };
+
+        List<Employee> employees = apiService.fetchEmployeesFromApi(usersUrl);
+
+        assertEquals(1, employees.size());
+        assertTrue(requests.get() >= 2);
+    }
+
+    @Test
+    @DisplayName("Otwarty obwód powinien odrzucać zapytania bez łączenia się z serwerem")
+    void fetchEmployeesFromApi_circuitOpen_failsFastAndRecovers() throws Exception {
+        apiService.setMaxRetries(0);
+        apiService.setCircuitBreakerFailureThreshold(2);
+        apiService.setCircuitBreakerOpenDurationMillis(200);
+        behaviour = (exchange, n) -> respond(exchange, 503, "Service Unavailable");
+
+        assertThrows(ApiException.class, () -> apiService.fetchEmployeesFromApi(usersUrl));
+        assertThrows(ApiException.class, () -> apiService.fetchEmployeesFromApi(usersUrl));
+        assertTrue(apiService.isCircuitOpen(usersUrl));
+        ApiException exception = assertThrows(ApiException.class, () -> apiService.fetchEmployeesFromApi(usersUrl));
+
+        assertTrue(exception.getMessage().contains("chwilowo niedostępne"));
+        assertEquals(2, requests.get());
+
+        behaviour = (exchange, n) -> respond(exchange, 200, USERS_JSON);
+        Thread.sleep(250);
+        assertEquals(1, apiService.fetchEmployeesFromApi(usersUrl).size());
+        assertFalse(apiService.isCircuitOpen(usersUrl));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    @DisplayName("Zapytanie zapasowe powinno skrócić czas oczekiwania na wolną odpowiedź")
+    void fetchEmployeesFromApi_slowFirstResponse_hedgedRequestWins() {
+        apiService.setHedgeDelayMillis(100);
+        behaviour = (exchange, n) -> {
+            if (n == 1) {
+                try {
+                    releaseSlowResponses.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            respond(exchange, 200, USERS_JSON);
+        };
+
+        long start = System.nanoTime();
+        List<Employee> employees = apiService.fetchEmployeesFromApi(usersUrl);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(1, employees.size());
+        assertEquals(2, requests.get());
+        assertTrue(elapsedMillis < 5000, "Odpowiedź zapasowa nie została użyta: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Pobieranie z wielu źródeł powinno ponawiać przejściowe błędy")
+    void fetchEmployeesFromApi_multipleUrlsTransientErrors_retriesAsync() {
+        behaviour = (exchange, n) -> respond(exchange, n == 1 ? 502 : 200, n == 1 ? "Bad Gateway" : USERS_JSON);
+
+        ApiFetchResult result = apiService.fetchEmployeesFromApi(List.of(usersUrl + "?source=a", usersUrl + "?source=b"));
+
+        assertFalse(result.hasErrors());
+        assertEquals(2, result.getEmployees().size());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    @DisplayName("Otwarty obwód jednego źródła nie powinien blokować pozostałych")
+    void fetchEmployeesFromApi_oneSourceUnhealthy_otherSourceUnaffected() throws Exception {
+        apiService.setMaxRetries(0);
+        apiService.setCircuitBreakerFailureThreshold(2);
+        behaviour = (exchange, n) -> respond(exchange, 503, "Service Unavailable");
+        AtomicInteger healthyRequests = new AtomicInteger();
+        HttpServer healthy = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        healthy.createContext("/users", exchange -> {
+            try (exchange) {
+                healthyRequests.incrementAndGet();
+                respond(exchange, 200, USERS_JSON);
+            }
+        });
+        healthy.setExecutor(serverExecutor);
+        healthy.start();
+        String healthyUrl = "http://127.0.0.1:" + healthy.getAddress().getPort() + "/users";
+        try {
+            apiService.fetchEmployeesFromApi(List.of(usersUrl));
+            apiService.fetchEmployeesFromApi(List.of(usersUrl));
+            assertTrue(apiService.isCircuitOpen(usersUrl));
+
+            ApiFetchResult result = apiService.fetchEmployeesFromApi(List.of(usersUrl, healthyUrl));
+
+            assertEquals(1, result.getEmployees().size());
+            assertEquals(1, result.getErrors().size());
+            assertTrue(result.getErrors().get(usersUrl).contains("chwilowo niedostępne"));
+            assertFalse(apiService.isCircuitOpen(healthyUrl));
+            assertEquals(2, requests.get());
+            assertEquals(1, healthyRequests.get());
+        } finally {
+            healthy.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Zapytania pobrane z wyprzedzeniem za ostatnią stroną powinny być anulowane bez ponowień")
+    void streamEmployeesFromPages_pastEndPrefetch_isCancelledWithoutRetries() throws Exception {
+        apiService.setPagePrefetchDepth(2);
+        apiService.setMaxRetries(3);
+        apiService.setCircuitBreakerFailureThreshold(1);
+        CountDownLatch pastEndArrived = new CountDownLatch(1);
+        AtomicInteger pastEndRequests = new AtomicInteger();
+        behaviour = (exchange, n) -> {
+            String query = exchange.getRequestURI().getQuery();
+            if (query.startsWith("page=1&")) {
+                respond(exchange, 200, USERS_JSON);
+            } else if (query.startsWith("page=2&")) {
+                awaitQuietly(pastEndArrived);
+                respond(exchange, 200, "[]");
+            } else {
+                pastEndRequests.incrementAndGet();
+                pastEndArrived.countDown();
+                awaitQuietly(releaseSlowResponses);
+                respond(exchange, 503, "Service Unavailable");
+            }
+        };
+
+        long count = apiService.streamEmployeesFromPages(usersUrl, 1, employee -> { });
+        int sentBeforeCancel = pastEndRequests.get();
+        releaseSlowResponses.countDown();
+        Thread.sleep(300);
+
+        assertEquals(1, count);
+        assertTrue(sentBeforeCancel >= 1 && sentBeforeCancel <= 2);
+        assertEquals(sentBeforeCancel, pastEndRequests.get());
+        assertFalse(apiService.isCircuitOpen(usersUrl));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package service;
 
 import org.example.lab01.exception.ApiException;
+import org.example.lab01.model.ApiCacheStats;
+import org.example.lab01.model.ApiFetchResult;
 import org.example.lab01.model.Employee;
 import org.example.lab01.model.Position;
 import org.example.lab01.service.ApiService;
@@ -10,12 +12,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,6 +45,9 @@ class ApiServiceTest {
     @Mock
     private HttpResponse<String> mockResponse;
 
+    @Mock
+    private HttpResponse<InputStream> mockStreamResponse;
+
     private ApiService apiService;
 
     @BeforeEach
@@ -389,4 +406,429 @@ class ApiServiceTest {
         verify(mockResponse, atLeastOnce()).statusCode();
         verify(mockResponse, times(1)).body();
     }
+
+    @Test
+    @DisplayName("Strumieniowy odczyt powinien przekazywać pracowników przed odczytaniem całej odpowiedzi")
+    void streamEmployeesFromApi_largeArray_emitsEmployeesIncrementally() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 10_000; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i).append(",\"company\":{\"name\":\"TechCorp\",\"catchPhrase\":\"x\"},")
+                    .append("\"name\":\"Jan Kowalski").append(i).append("\",\"email\":\"user").append(i)
+                    .append("@example.com\",\"address\":{\"geo\":[1,2]}}");
+        }
+        json.append(']');
+        byte[] payload = json.toString().getBytes(StandardCharsets.UTF_8);
+        CountingInputStream body = new CountingInputStream(new ByteArrayInputStream(payload));
+
+        when(mockStreamResponse.statusCode()).thenReturn(200);
+        when(mockStreamResponse.body()).thenReturn(body);
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(mockStreamResponse);
+        List<Employee> employees = new ArrayList<>();
+        long[] bytesReadAtFirstEmployee = {-1};
+
+        long count = apiService.streamEmployeesFromApi("https://api.example.com/users", employee -> {
+            if (employees.isEmpty()) {
+                bytesReadAtFirstEmployee[0] = body.count;
+            }
+            employees.add(employee);
+        });
+
+        assertEquals(10_000, count);
+        assertEquals(10_000, employees.size());
+        assertEquals("Jan", employees.get(0).getFirstName());
+        assertEquals("Kowalski0", employees.get(0).getLastName());
+        assertEquals("TechCorp", employees.get(9_999).getCompanyName());
+        assertEquals("user9999@example.com", employees.get(9_999).getEmail());
+        assertTrue(bytesReadAtFirstEmployee[0] < payload.length / 10);
+    }
+
+    @Test
+    @DisplayName("Strumieniowy odczyt powinien zgłosić niepoprawny format JSON")
+    void streamEmployeesFromApi_invalidJson_throwsApiException() throws Exception {
+        when(mockStreamResponse.statusCode()).thenReturn(200);
+        when(mockStreamResponse.body()).thenReturn(
+                new ByteArrayInputStream("[{\"name\": \"Jan Kowalski\", ".getBytes(StandardCharsets.UTF_8)));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(mockStreamResponse);
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> apiService.streamEmployeesFromApi("https://api.example.com/users", employee -> { }));
+
+        assertTrue(exception.getMessage().contains("Nieprawidłowy format JSON"));
+    }
+
+    @Test
+    @DisplayName("Strumieniowy odczyt powinien rzucić ApiException dla błędu HTTP")
+    void streamEmployeesFromApi_httpError_throwsApiException() throws Exception {
+        when(mockStreamResponse.statusCode()).thenReturn(503);
+        when(mockStreamResponse.body()).thenReturn(
+                new ByteArrayInputStream("Service Unavailable".getBytes(StandardCharsets.UTF_8)));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(mockStreamResponse);
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> apiService.streamEmployeesFromApi("https://api.example.com/users", employee -> { }));
+
+        assertEquals("Błąd HTTP: 503 - Service Unavailable", exception.getMessage());
+    }
+
+    private static final String SINGLE_USER_JSON = """
+            [{"name": "Jan Kowalski", "email": "%s", "company": {"name": "TechCorp"}}]
+            """;
+
+    @Test
+    @DisplayName("Pobieranie z wielu źródeł powinno ograniczać liczbę równoległych zapytań")
+    void fetchEmployeesFromApi_multipleUrls_limitsConcurrency() throws Exception {
+        apiService.setMaxConcurrentRequests(2);
+        BlockingQueue<CompletableFuture<HttpResponse<String>>> pending = new LinkedBlockingQueue<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(SINGLE_USER_JSON.formatted("jan@example.com"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    CompletableFuture<HttpResponse<String>> future = new CompletableFuture<>();
+                    pending.add(future);
+                    return future;
+                });
+        Thread completer = new Thread(() -> {
+            try {
+                while (inFlight.get() < 2) {
+                    Thread.sleep(1);
+                }
+                for (int i = 0; i < 6; i++) {
+                    CompletableFuture<HttpResponse<String>> future = pending.take();
+                    inFlight.decrementAndGet();
+                    future.complete(mockResponse);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        completer.start();
+
+        List<String> urls = List.of("https://a.example.com", "https://b.example.com", "https://c.example.com",
+                "https://d.example.com", "https://e.example.com", "https://f.example.com");
+        ApiFetchResult result = apiService.fetchEmployeesFromApi(urls);
+        completer.join(5000);
+
+        assertEquals(6, result.getEmployees().size());
+        assertFalse(result.hasErrors());
+        assertEquals(2, maxInFlight.get());
+        verify(mockHttpClient, times(6)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    @DisplayName("Błąd jednego źródła nie powinien przerywać pobierania z pozostałych")
+    void fetchEmployeesFromApi_oneSourceFails_isolatesError() throws Exception {
+        HttpResponse<String> notFound = mock(HttpResponse.class);
+        when(notFound.statusCode()).thenReturn(404);
+        when(notFound.body()).thenReturn("Not Found");
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(SINGLE_USER_JSON.formatted("jan@example.com"));
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    String host = invocation.getArgument(0, HttpRequest.class).uri().getHost();
+                    return switch (host) {
+                        case "down.example.com" -> CompletableFuture.failedFuture(new IOException("Connection refused"));
+                        case "missing.example.com" -> CompletableFuture.completedFuture(notFound);
+                        default -> CompletableFuture.completedFuture(mockResponse);
+                    };
+                });
+
+        ApiFetchResult result = apiService.fetchEmployeesFromApi(List.of("https://up.example.com",
+                "https://down.example.com", "https://missing.example.com", "nie jest adresem url"));
+
+        assertEquals(1, result.getEmployees().size());
+        assertEquals("jan@example.com", result.getEmployees().get(0).getEmail());
+        Map<String, String> errors = result.getErrors();
+        assertEquals(3, errors.size());
+        assertEquals("Błąd połączenia z API: Connection refused", errors.get("https://down.example.com"));
+        assertEquals("Błąd HTTP: 404 - Not Found", errors.get("https://missing.example.com"));
+        assertTrue(errors.get("nie jest adresem url").startsWith("Nieprawidłowy adres API"));
+    }
+
+    @Test
+    @DisplayName("Świeża odpowiedź z pamięci podręcznej nie powinna wysyłać zapytania")
+    void fetchEmployeesFromApi_freshCacheEntry_skipsNetwork() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(SINGLE_USER_JSON.formatted("jan@example.com"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(mockResponse);
+
+        List<Employee> first = apiService.fetchEmployeesFromApi("https://api.example.com/users");
+        first.get(0).setEmail("zmieniony@example.com");
+        List<Employee> second = apiService.fetchEmployeesFromApi("https://api.example.com/users");
+
+        assertEquals("jan@example.com", second.get(0).getEmail());
+        verify(mockHttpClient, times(1)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        ApiCacheStats stats = apiService.getCacheStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    @DisplayName("Przeterminowany wpis powinien zostać odświeżony zapytaniem warunkowym")
+    void fetchEmployeesFromApi_staleEntryNotModified_revalidatesWithEtag() throws Exception {
+        apiService.setCacheTtlMillis(0);
+        HttpResponse<String> notModified = mock(HttpResponse.class);
+        when(notModified.statusCode()).thenReturn(304);
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(SINGLE_USER_JSON.formatted("jan@example.com"));
+        when(mockResponse.headers()).thenReturn(HttpHeaders.of(
+                Map.of("ETag", List.of("\"v1\""), "Last-Modified", List.of("Sat, 17 Oct 2026 10:00:00 GMT")),
+                (name, value) -> true));
+        List<HttpRequest> requests = new ArrayList<>();
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    requests.add(invocation.getArgument(0));
+                    return requests.size() == 1 ? mockResponse : notModified;
+                });
+
+        apiService.fetchEmployeesFromApi("https://api.example.com/users");
+        List<Employee> employees = apiService.fetchEmployeesFromApi("https://api.example.com/users");
+
+        assertEquals(1, employees.size());
+        assertEquals("jan@example.com", employees.get(0).getEmail());
+        assertTrue(requests.get(0).headers().firstValue("If-None-Match").isEmpty());
+        assertEquals("\"v1\"", requests.get(1).headers().firstValue("If-None-Match").orElseThrow());
+        assertEquals("Sat, 17 Oct 2026 10:00:00 GMT",
+                requests.get(1).headers().firstValue("If-Modified-Since").orElseThrow());
+        verify(notModified, never()).body();
+        ApiCacheStats stats = apiService.getCacheStats();
+        assertEquals(0, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getRevalidations());
+    }
+
+    @Test
+    @DisplayName("Pamięć podręczna powinna wypierać najdawniej używany wpis")
+    void fetchEmployeesFromApi_cacheFull_evictsLeastRecentlyUsed() throws Exception {
+        apiService.setCacheMaxEntries(2);
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(SINGLE_USER_JSON.formatted("jan@example.com"));
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(mockResponse);
+
+        apiService.fetchEmployeesFromApi("https://a.example.com");
+        apiService.fetchEmployeesFromApi("https://b.example.com");
+        apiService.fetchEmployeesFromApi("https://a.example.com");
+        apiService.fetchEmployeesFromApi("https://c.example.com");
+        apiService.fetchEmployeesFromApi("https://a.example.com");
+        apiService.fetchEmployeesFromApi("https://b.example.com");
+
+        verify(mockHttpClient, times(4)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        ApiCacheStats stats = apiService.getCacheStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(4, stats.getMisses());
+        assertEquals(2, stats.getEvictions());
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    @DisplayName("Błędna odpowiedź nie powinna trafiać do pamięci podręcznej")
+    void fetchEmployeesFromApi_httpError_isNotCached() throws Exception {
+        when(mockResponse.statusCode()).thenReturn(400);
+        when(mockResponse.body()).thenReturn("Bad Request");
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(mockResponse);
+
+        assertThrows(ApiException.class, () -> apiService.fetchEmployeesFromApi("https://api.example.com/users"));
+        assertThrows(ApiException.class, () -> apiService.fetchEmployeesFromApi("https://api.example.com/users"));
+
+        verify(mockHttpClient, times(2)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        assertEquals(0, apiService.getCacheStats().getSize());
+    }
+
+    private static String usersJson(int first, int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = first; i < first + count; i++) {
+            if (i > first) {
+                json.append(',');
+            }
+            json.append("{\"name\": \"Jan Kowalski\", \"email\": \"user").append(i)
+                    .append("@example.com\", \"company\": {\"name\": \"TechCorp\"}}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static HttpResponse<String> pageResponse(int status, String body, String link) {
+        HttpResponse<String> response = mock(HttpResponse.class, withSettings().strictness(Strictness.LENIENT));
+        when(response.statusCode()).thenReturn(status);
+        when(response.body()).thenReturn(body);
+        when(response.headers()).thenReturn(HttpHeaders.of(
+                link == null ? Map.of() : Map.of("Link", List.of(link)), (name, value) -> true));
+        return response;
+    }
+
+    @Test
+    @DisplayName("Pobieranie stron powinno wysłać zapytanie o następną stronę przed przetworzeniem bieżącej")
+    void streamEmployeesFromPages_multiplePages_prefetchesNextPage() throws Exception {
+        List<String> events = new ArrayList<>();
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    String query = invocation.getArgument(0, HttpRequest.class).uri().getQuery();
+                    events.add(query);
+                    return CompletableFuture.completedFuture(switch (query) {
+                        case "page=1&size=2" -> pageResponse(200, usersJson(0, 2), null);
+                        case "page=2&size=2" -> pageResponse(200, usersJson(2, 2), null);
+                        case "page=3&size=2" -> pageResponse(200, usersJson(4, 1), null);
+                        default -> pageResponse(200, "[]", null);
+                    });
+                });
+
+        long count = apiService.streamEmployeesFromPages("https://api.example.com/users", 2,
+                employee -> events.add(employee.getEmail()));
+
+        assertEquals(5, count);
+        assertEquals(List.of("page=1&size=2", "page=2&size=2", "user0@example.com", "user1@example.com",
+                "page=3&size=2", "user2@example.com", "user3@example.com",
+                "page=4&size=2", "user4@example.com", "page=5&size=2"), events);
+    }
+
+    @Test
+    @DisplayName("Strona krótsza niż żądany rozmiar nie powinna kończyć pobierania")
+    void streamEmployeesFromPages_serverCapsPageSize_readsUntilEmptyPage() throws Exception {
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    String query = invocation.getArgument(0, HttpRequest.class).uri().getQuery();
+                    return CompletableFuture.completedFuture(switch (query) {
+                        case "page=1&size=100" -> pageResponse(200, usersJson(0, 2), null);
+                        case "page=2&size=100" -> pageResponse(200, usersJson(2, 2), null);
+                        case "page=3&size=100" -> pageResponse(200, usersJson(4, 1), null);
+                        default -> pageResponse(200, "[]", null);
+                    });
+                });
+        List<Employee> received = new ArrayList<>();
+
+        long count = apiService.streamEmployeesFromPages("https://api.example.com/users", 100, received::add);
+
+        assertEquals(5, count);
+        assertEquals(5, received.size());
+    }
+
+    @Test
+    @DisplayName("Pobieranie stron powinno zakończyć się po osiągnięciu liczby z nagłówka X-Total-Count")
+    void streamEmployeesFromPages_totalCountHeader_stopsWithoutEmptyPage() throws Exception {
+        List<String> queries = new ArrayList<>();
+        apiService.setPagePrefetchDepth(0);
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    String query = invocation.getArgument(0, HttpRequest.class).uri().getQuery();
+                    queries.add(query);
+                    HttpResponse<String> response = query.startsWith("page=1&")
+                            ? pageResponse(200, usersJson(0, 2), null)
+                            : pageResponse(200, usersJson(2, 1), null);
+                    when(response.headers()).thenReturn(HttpHeaders.of(
+                            Map.of("X-Total-Count", List.of("3")), (name, value) -> true));
+                    return CompletableFuture.completedFuture(response);
+                });
+
+        long count = apiService.streamEmployeesFromPages("https://api.example.com/users", 2, employee -> { });
+
+        assertEquals(3, count);
+        assertEquals(List.of("page=1&size=2", "page=2&size=2"), queries);
+    }
+
+    @Test
+    @DisplayName("Przy zerowej głębokości strony powinny być pobierane po kolei")
+    void streamEmployeesFromPages_zeroPrefetchDepth_fetchesSequentially() throws Exception {
+        apiService.setPagePrefetchDepth(0);
+        apiService.setPageParam("p");
+        apiService.setPageSizeParam("limit");
+        List<String> events = new ArrayList<>();
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    String query = invocation.getArgument(0, HttpRequest.class).uri().getQuery();
+                    events.add(query);
+                    return CompletableFuture.completedFuture(query.contains("p=1&")
+                            ? pageResponse(200, usersJson(0, 2), null)
+                            : pageResponse(200, "[]", null));
+                });
+
+        long count = apiService.streamEmployeesFromPages("https://api.example.com/users?active=true", 2,
+                employee -> events.add(employee.getEmail()));
+
+        assertEquals(2, count);
+        assertEquals(List.of("active=true&p=1&limit=2", "user0@example.com", "user1@example.com",
+                "active=true&p=2&limit=2"), events);
+    }
+
+    @Test
+    @DisplayName("Pobieranie stron powinno podążać za nagłówkiem Link z rel=next")
+    void streamEmployeesFromLinkedPages_cursorLinks_followsNextLinks() throws Exception {
+        List<String> events = new ArrayList<>();
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    String url = invocation.getArgument(0, HttpRequest.class).uri().toString();
+                    events.add(url);
+                    return CompletableFuture.completedFuture(switch (url) {
+                        case "https://api.example.com/users" -> pageResponse(200, usersJson(0, 2),
+                                "</users?cursor=abc>; rel=\"next\"");
+                        case "https://api.example.com/users?cursor=abc" -> pageResponse(200, usersJson(2, 1),
+                                "<https://api.example.com/users>; rel=\"first\", "
+                                        + "<https://api.example.com/users?cursor=def>; rel=\"next\"");
+                        default -> pageResponse(200, usersJson(3, 1), null);
+                    });
+                });
+
+        long count = apiService.streamEmployeesFromLinkedPages("https://api.example.com/users",
+                employee -> events.add(employee.getEmail()));
+
+        assertEquals(4, count);
+        assertEquals(List.of("https://api.example.com/users", "https://api.example.com/users?cursor=abc",
+                "user0@example.com", "user1@example.com", "https://api.example.com/users?cursor=def",
+                "user2@example.com", "user3@example.com"), events);
+    }
+
+    @Test
+    @DisplayName("Błąd HTTP na kolejnej stronie powinien przerwać pobieranie po przekazaniu wcześniejszych stron")
+    void streamEmployeesFromPages_errorOnSecondPage_throwsApiException() throws Exception {
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    String query = invocation.getArgument(0, HttpRequest.class).uri().getQuery();
+                    return CompletableFuture.completedFuture(query.startsWith("page=1&")
+                            ? pageResponse(200, usersJson(0, 2), null)
+                            : pageResponse(400, "Bad Request", null));
+                });
+        List<Employee> received = new ArrayList<>();
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> apiService.streamEmployeesFromPages("https://api.example.com/users", 2, received::add));
+
+        assertEquals("Błąd HTTP: 400 - Bad Request", exception.getMessage());
+        assertEquals(2, received.size());
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
 }
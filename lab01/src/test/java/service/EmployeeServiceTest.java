@@ -1,16 +1,23 @@
 package service;
 
+import org.example.lab01.model.BatchAddResult;
 import org.example.lab01.model.CompanyStatistics;
 import org.example.lab01.model.Employee;
 import org.example.lab01.model.Position;
 import org.example.lab01.service.EmployeeService;
+import org.example.lab01.service.EmployeeSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 class EmployeeServiceTest {
@@ -80,6 +87,81 @@ class EmployeeServiceTest {
         assertTrue(result3);
         assertEquals(3, employeeService.getAllEmployees().size());
     }
+    @Test
+    @DisplayName("Powinien dodać paczkę pracowników odrzucając duplikaty w paczce i w bazie")
+    void addAll_withDuplicates_returnsPerItemResult() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8500));
+        List<Employee> batch = List.of(
+                new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000),
+                new Employee("Janusz", "Kowal", "jan@example.com", "DataCorp", Position.STAZYSTA, 3000),
+                new Employee("Piotr", "Wiśniewski", "piotr@example.com", "DataCorp", Position.STAZYSTA, 3500),
+                new Employee("Anna", "Nowicka", "anna@example.com", "DataCorp", Position.PREZES, 30000));
+
+        BatchAddResult result = employeeService.addAll(batch);
+
+        assertEquals(4, result.size());
+        assertTrue(result.isAccepted(0));
+        assertFalse(result.isAccepted(1));
+        assertTrue(result.isAccepted(2));
+        assertFalse(result.isAccepted(3));
+        assertEquals(2, result.getAcceptedCount());
+        assertEquals(2, result.getRejectedCount());
+        assertEquals(3, employeeService.getAllEmployees().size());
+        assertEquals("Nowak", employeeService.findByEmail("anna@example.com").get().getLastName());
+    }
+
+    @Test
+    @DisplayName("Paczka pracowników powinna aktualizować wszystkie indeksy")
+    void addAll_validBatch_updatesIndexes() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000));
+        employeeService.addAll(List.of(
+                new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000),
+                new Employee("Piotr", "Wiśniewski", "piotr@example.com", "DataCorp", Position.PROGRAMISTA, 9000)));
+
+        assertEquals(2, employeeService.countByCompany("TechCorp"));
+        assertEquals(1, employeeService.countByCompany("DataCorp"));
+        assertEquals(2L, employeeService.countByPosition().get(Position.PROGRAMISTA));
+        CompanyStatistics techCorpStats = employeeService.getCompanyStatistics().get("TechCorp");
+        assertEquals(2, techCorpStats.getEmployeeCount());
+        assertEquals("Anna Nowak", techCorpStats.getHighestPaidEmployeeName());
+        assertEquals(20000.0, techCorpStats.getTotalSalary(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Pusta paczka nie powinna niczego zmieniać")
+    void addAll_emptyBatch_returnsEmptyResult() {
+        BatchAddResult result = employeeService.addAll(List.of());
+        assertEquals(0, result.size());
+        assertTrue(employeeService.getAllEmployees().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Powinien znaleźć pracownika po emailu")
+    void findByEmail_existingEmail_returnsEmployee() {
+        Employee employee = new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8500);
+        employeeService.addEmployee(employee);
+        Optional<Employee> result = employeeService.findByEmail("jan@example.com");
+        assertTrue(result.isPresent());
+        assertSame(employee, result.get());
+    }
+
+    @Test
+    @DisplayName("Powinien zwrócić Optional.empty() gdy email nie istnieje")
+    void findByEmail_nonExistingEmail_returnsEmptyOptional() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8500));
+        assertTrue(employeeService.findByEmail("anna@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Odrzucony duplikat nie powinien nadpisać pracownika w indeksie emaili")
+    void findByEmail_afterRejectedDuplicate_returnsOriginalEmployee() {
+        Employee original = new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8500);
+        Employee duplicate = new Employee("Anna", "Nowak", "jan@example.com", "DataCorp", Position.MANAGER, 12000);
+        employeeService.addEmployee(original);
+        employeeService.addEmployee(duplicate);
+        assertEquals("Jan", employeeService.findByEmail("jan@example.com").get().getFirstName());
+    }
+
     @Test
     @DisplayName("Powinien znaleźć pracowników z konkretnej firmy")
     void findByCompany_existingCompany_returnsEmployees() {
@@ -112,6 +194,35 @@ class EmployeeServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    @DisplayName("Powinien policzyć pracowników firmy bez przeglądania całej bazy")
+    void countByCompany_withEmployees_returnsCompanySize() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8500));
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000));
+        employeeService.addEmployee(new Employee("Piotr", "Wiśniewski", "piotr@example.com", "DataCorp", Position.STAZYSTA, 3500));
+        assertEquals(2, employeeService.countByCompany("TechCorp"));
+        assertEquals(1, employeeService.countByCompany("DataCorp"));
+        assertEquals(0, employeeService.countByCompany("NonExistingCorp"));
+    }
+
+    @Test
+    @DisplayName("Powinien zwrócić listę firm z indeksu")
+    void companies_withEmployees_returnsDistinctCompanies() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8500));
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000));
+        employeeService.addEmployee(new Employee("Piotr", "Wiśniewski", "piotr@example.com", "DataCorp", Position.STAZYSTA, 3500));
+        assertEquals(Set.of("TechCorp", "DataCorp"), employeeService.companies());
+    }
+
+    @Test
+    @DisplayName("Odrzucony duplikat nie powinien trafić do indeksu firm")
+    void findByCompany_rejectedDuplicate_notIndexed() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8500));
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "jan@example.com", "DataCorp", Position.MANAGER, 12000));
+        assertTrue(employeeService.findByCompany("DataCorp").isEmpty());
+        assertFalse(employeeService.companies().contains("DataCorp"));
+    }
+
     @Test
     @DisplayName("Powinien obliczyć średnie wynagrodzenie poprawnie")
     void getAverageSalary_withEmployees_returnsCorrectAverage() {
@@ -168,6 +279,24 @@ class EmployeeServiceTest {
         assertTrue(result.isPresent());
         assertEquals("Jan", result.get().getFirstName());
     }
+    @Test
+    @DisplayName("Przy równych wynagrodzeniach powinien zwrócić pierwszego dodanego pracownika")
+    void getHighestPaidEmployee_equalSalaries_returnsFirstAdded() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.MANAGER, 15000));
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "DataCorp", Position.MANAGER, 15000));
+        assertEquals("Jan", employeeService.getHighestPaidEmployee().get().getFirstName());
+    }
+
+    @Test
+    @DisplayName("Wynagrodzenie równe bazowemu nie powinno być niespójne")
+    void validateSalaryConsistency_salaryEqualToBase_isConsistent() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.MANAGER, 12000));
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.STAZYSTA, 2999.99));
+        List<Employee> inconsistencies = employeeService.validateSalaryConsistency();
+        assertEquals(1, inconsistencies.size());
+        assertEquals("anna@example.com", inconsistencies.get(0).getEmail());
+    }
+
     @Test
     @DisplayName("Powinien znaleźć pracowników z wynagrodzeniem niższym niż bazowe")
     void validateSalaryConsistency_withInconsistencies_returnsInconsistentEmployees() {
@@ -223,6 +352,34 @@ class EmployeeServiceTest {
         assertEquals(1L, counts.get(Position.MANAGER));
     }
 
+    @Test
+    @DisplayName("Powinien zwrócić pustą mapę liczników gdy baza jest pusta")
+    void countByPosition_emptyDatabase_returnsEmptyMap() {
+        assertTrue(employeeService.countByPosition().isEmpty());
+        assertTrue(employeeService.groupByPosition().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Grupy stanowisk powinny być niemodyfikowalne")
+    void groupByPosition_returnsUnmodifiableGroups() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000));
+        List<Employee> programmers = employeeService.groupByPosition().get(Position.PROGRAMISTA);
+        assertThrows(UnsupportedOperationException.class, () -> programmers.remove(0));
+    }
+
+    @Test
+    @DisplayName("Powinien znaleźć pracowników na stanowisku MANAGER i wyższych")
+    void findAtOrAbove_manager_returnsManagersAndBoard() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000));
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000));
+        employeeService.addEmployee(new Employee("Piotr", "Wiśniewski", "piotr@example.com", "DataCorp", Position.PREZES, 26000));
+        employeeService.addEmployee(new Employee("Ewa", "Lis", "ewa@example.com", "DataCorp", Position.STAZYSTA, 3000));
+        List<Employee> result = employeeService.findAtOrAbove(Position.MANAGER);
+        assertEquals(2, result.size());
+        assertEquals("Piotr", result.get(0).getFirstName());
+        assertEquals("Anna", result.get(1).getFirstName());
+    }
+
     @Test
     @DisplayName("Powinien zwrócić statystyki dla firm")
     void getCompanyStatistics_withEmployees_returnsCorrectStatistics() {
@@ -248,6 +405,36 @@ class EmployeeServiceTest {
         assertEquals(1, dataCorpStats.getEmployeeCount());
         assertEquals(4000.0, dataCorpStats.getAverageSalary(), 0.01);
     }
+    @Test
+    @DisplayName("Statystyki firm powinny zawierać minimalne, maksymalne i łączne wynagrodzenie")
+    void getCompanyStatistics_withEmployees_returnsSalaryRange() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000));
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000));
+        employeeService.addEmployee(new Employee("Ewa", "Lis", "ewa@example.com", "TechCorp", Position.STAZYSTA, 3000));
+
+        CompanyStatistics stats = employeeService.getCompanyStatistics().get("TechCorp");
+
+        assertEquals(3, stats.getEmployeeCount());
+        assertEquals(3000.0, stats.getMinSalary(), 0.01);
+        assertEquals(12000.0, stats.getMaxSalary(), 0.01);
+        assertEquals(23000.0, stats.getTotalSalary(), 0.01);
+        assertEquals(23000.0 / 3, stats.getAverageSalary(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Przy równych wynagrodzeniach najlepiej zarabiającym powinien zostać pierwszy dodany")
+    void getCompanyStatistics_equalSalaries_keepsFirstHighestPaid() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.MANAGER, 12000));
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000));
+        assertEquals("Jan Kowalski", employeeService.getCompanyStatistics().get("TechCorp").getHighestPaidEmployeeName());
+    }
+
+    @Test
+    @DisplayName("Powinien zwrócić pustą mapę statystyk gdy baza jest pusta")
+    void getCompanyStatistics_emptyDatabase_returnsEmptyMap() {
+        assertTrue(employeeService.getCompanyStatistics().isEmpty());
+    }
+
     @Test
     @DisplayName("Powinien posortować pracowników według nazwiska")
     void sortByLastName_withEmployees_sortsCorrectly() {
@@ -260,4 +447,271 @@ class EmployeeServiceTest {
         assertEquals("Nowak", sorted.get(1).getLastName());
         assertEquals("Zieliński", sorted.get(2).getLastName());
     }
+
+    @Test
+    @DisplayName("Powinien bezpiecznie przyjmować zapisy i odczyty z wielu wątków")
+    void addEmployee_concurrentWritersAndReaders_keepsConsistentState() throws Exception {
+        int writers = 8;
+        int perWriter = 5_000;
+        int uniqueEmails = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger accepted = new AtomicInteger();
+        try {
+            List<Future<?>> writerFutures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int offset = w * perWriter / 2;
+                writerFutures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perWriter; i++) {
+                        int id = (offset + i) % uniqueEmails;
+                        Employee employee = new Employee("Jan" + id, "Kowalski" + id, "user" + id + "@example.com",
+                                "Corp" + (id % 10), Position.values()[id % Position.values().length], 5000 + id);
+                        if (employeeService.addEmployee(employee)) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> readerFutures = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readerFutures.add(executor.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        employeeService.findByCompany("Corp1");
+                        employeeService.groupByPosition();
+                        employeeService.getCompanyStatistics();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : writerFutures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            for (Future<?> future : readerFutures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Employee> all = employeeService.getAllEmployees();
+        assertEquals(accepted.get(), all.size());
+        assertEquals(all.size(), all.stream().map(Employee::getEmail).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Lista zwrócona przez getAllEmployees nie powinna zmieniać się po dodaniu pracownika")
+    void getAllEmployees_returnsStableSnapshot() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000));
+        List<Employee> snapshot = employeeService.getAllEmployees();
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000));
+        assertEquals(1, snapshot.size());
+        assertEquals(2, employeeService.getAllEmployees().size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(null));
+    }
+
+    @Test
+    @DisplayName("Tryb równoległy powinien dawać te same wyniki co sekwencyjny")
+    void parallelAnalytics_largeDataset_matchesSequentialResults() {
+        Position[] positions = Position.values();
+        for (int i = 0; i < 50_000; i++) {
+            employeeService.addEmployee(new Employee("Imie" + i, "Nazwisko" + (i * 7919 % 1000), "user" + i + "@example.com",
+                    "Corp" + (i % 13), positions[i % positions.length], 2000 + (i * 31 % 30000)));
+        }
+        double average = employeeService.getAverageSalary();
+        Employee highestPaid = employeeService.getHighestPaidEmployee().orElseThrow();
+        List<Employee> inconsistent = employeeService.validateSalaryConsistency();
+        List<Employee> sorted = employeeService.snapshot().sortByLastName();
+
+        employeeService.setAnalyticsParallelism(4);
+        try {
+            assertEquals(4, employeeService.getAnalyticsParallelism());
+            assertEquals(average, employeeService.getAverageSalary(), 0.0001);
+            assertSame(highestPaid, employeeService.getHighestPaidEmployee().orElseThrow());
+            assertEquals(inconsistent, employeeService.validateSalaryConsistency());
+            List<Employee> parallelSorted = employeeService.snapshot().sortByLastName();
+            assertEquals(sorted.size(), parallelSorted.size());
+            for (int i = 0; i < sorted.size(); i++) {
+                assertSame(sorted.get(i), parallelSorted.get(i));
+            }
+        } finally {
+            employeeService.shutdownAnalytics();
+        }
+        assertEquals(1, employeeService.getAnalyticsParallelism());
+    }
+
+    @Test
+    @DisplayName("Migawka powinna zwracać spójne wyniki mimo późniejszych zapisów")
+    void snapshot_laterInserts_notVisibleInSnapshot() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000));
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000));
+        EmployeeSnapshot snapshot = employeeService.snapshot();
+
+        employeeService.addEmployee(new Employee("Piotr", "Wiśniewski", "piotr@example.com", "DataCorp", Position.PREZES, 30000));
+
+        assertEquals(2, snapshot.size());
+        assertEquals(2, snapshot.getVersion());
+        assertEquals(10000.0, snapshot.getAverageSalary(), 0.01);
+        assertEquals("Anna", snapshot.getHighestPaidEmployee().get().getFirstName());
+        assertEquals(Map.of(Position.PROGRAMISTA, 1L, Position.MANAGER, 1L), snapshot.countByPosition());
+        assertEquals(1, snapshot.getCompanyStatistics().size());
+        assertTrue(snapshot.findByCompany("DataCorp").isEmpty());
+        assertEquals(3, employeeService.snapshot().size());
+    }
+
+    @Test
+    @DisplayName("Indeksy firm i stanowisk w migawce powinny pozostać przypięte mimo kolejnej paczki")
+    void snapshot_laterBatchToSameCompany_indexesStayPinned() {
+        employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000));
+        EmployeeSnapshot snapshot = employeeService.snapshot();
+
+        employeeService.addAll(List.of(
+                new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.PROGRAMISTA, 9000),
+                new Employee("Piotr", "Wiśniewski", "piotr@example.com", "TechCorp", Position.MANAGER, 15000)));
+
+        assertEquals(1, snapshot.findByCompany("TechCorp").size());
+        assertEquals(Map.of(Position.PROGRAMISTA, 1L), snapshot.countByPosition());
+        assertEquals(1, snapshot.groupByPosition().get(Position.PROGRAMISTA).size());
+        assertEquals(1, snapshot.getCompanyStatistics().get("TechCorp").getEmployeeCount());
+        assertEquals(8000.0, snapshot.getCompanyStatistics().get("TechCorp").getTotalSalary(), 0.0001);
+        assertEquals(3, employeeService.findByCompany("TechCorp").size());
+        assertEquals(3, employeeService.getCompanyStatistics().get("TechCorp").getEmployeeCount());
+    }
+
+    @Test
+    @DisplayName("Migawka pobrana w trakcie zapisów powinna mieć indeksy zgodne z liczbą wierszy")
+    void snapshot_duringConcurrentWrites_indexesMatchRows() throws Exception {
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                Position position = i % 2 == 0 ? Position.PROGRAMISTA : Position.MANAGER;
+                employeeService.addEmployee(new Employee("Jan", "Kowalski", "user" + i + "@example.com",
+                        "Firma" + (i % 7), position, 10000));
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            EmployeeSnapshot snapshot = employeeService.snapshot();
+            long byPosition = snapshot.countByPosition().values().stream().mapToLong(Long::longValue).sum();
+            long byCompany = snapshot.getCompanyStatistics().values().stream()
+                    .mapToLong(CompanyStatistics::getEmployeeCount).sum();
+            assertEquals(snapshot.size(), byPosition);
+            assertEquals(snapshot.size(), byCompany);
+        }
+        writer.join();
+        assertEquals(20_000, employeeService.snapshot().size());
+    }
+
+    @Test
+    @DisplayName("Zapytania na migawce powinny zgadzać się z indeksami serwisu")
+    void snapshot_matchesLiveIndexes() {
+        employeeService.addEmployee(new Employee("Jan", "Zieliński", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000));
+        employeeService.addEmployee(new Employee("Anna", "Kowalska", "anna@example.com", "TechCorp", Position.MANAGER, 10000));
+        employeeService.addEmployee(new Employee("Piotr", "Nowak", "piotr@example.com", "DataCorp", Position.STAZYSTA, 4000));
+        EmployeeSnapshot snapshot = employeeService.snapshot();
+
+        assertEquals(employeeService.countByPosition(), snapshot.countByPosition());
+        assertEquals(employeeService.groupByPosition(), snapshot.groupByPosition());
+        assertEquals(employeeService.findByCompany("TechCorp"), snapshot.findByCompany("TechCorp"));
+        assertEquals(employeeService.validateSalaryConsistency(), snapshot.validateSalaryConsistency());
+        assertEquals(employeeService.sortByLastName(), snapshot.sortByLastName());
+        CompanyStatistics live = employeeService.getCompanyStatistics().get("TechCorp");
+        CompanyStatistics pinned = snapshot.getCompanyStatistics().get("TechCorp");
+        assertEquals(live.getEmployeeCount(), pinned.getEmployeeCount());
+        assertEquals(live.getTotalSalary(), pinned.getTotalSalary(), 0.0001);
+        assertEquals(live.getHighestPaidEmployeeName(), pinned.getHighestPaidEmployeeName());
+    }
+
+    @Test
+    @DisplayName("Powinien zwrócić stronę pracowników posortowanych po nazwisku")
+    void sortByLastName_withOffsetAndLimit_returnsPage() {
+        employeeService.addEmployee(new Employee("Jan", "Zieliński", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000));
+        employeeService.addEmployee(new Employee("Anna", "Kowalska", "anna@example.com", "TechCorp", Position.MANAGER, 12000));
+        employeeService.addEmployee(new Employee("Piotr", "Nowak", "piotr@example.com", "DataCorp", Position.STAZYSTA, 4000));
+        employeeService.addEmployee(new Employee("Ewa", "Lis", "ewa@example.com", "DataCorp", Position.STAZYSTA, 4000));
+
+        List<Employee> page = employeeService.sortByLastName(1, 2);
+
+        assertEquals(2, page.size());
+        assertEquals("Lis", page.get(0).getLastName());
+        assertEquals("Nowak", page.get(1).getLastName());
+        assertTrue(employeeService.sortByLastName(4, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Powinien stronicować po kluczu nazwisko i email")
+    void sortByLastNameAfter_keysetPaging_returnsNextPage() {
+        employeeService.addEmployee(new Employee("Jan", "Nowak", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000));
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000));
+        employeeService.addEmployee(new Employee("Piotr", "Kowalski", "piotr@example.com", "DataCorp", Position.STAZYSTA, 4000));
+        employeeService.addEmployee(new Employee("Ewa", "Zając", "ewa@example.com", "DataCorp", Position.STAZYSTA, 4000));
+
+        List<Employee> firstPage = employeeService.sortByLastNameAfter("", "", 2);
+        Employee last = firstPage.get(firstPage.size() - 1);
+        List<Employee> secondPage = employeeService.sortByLastNameAfter(last.getLastName(), last.getEmail(), 2);
+
+        assertEquals(List.of("piotr@example.com", "anna@example.com"), firstPage.stream().map(Employee::getEmail).toList());
+        assertEquals(List.of("jan@example.com", "ewa@example.com"), secondPage.stream().map(Employee::getEmail).toList());
+    }
+
+    @Test
+    @DisplayName("Powinien odrzucić ujemny offset lub limit")
+    void sortByLastName_negativeArguments_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.sortByLastName(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.sortByLastName(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.sortByLastNameAfter("Nowak", "a@example.com", -1));
+    }
+
+    @Test
+    @DisplayName("Pracownik bez nazwiska powinien trafić do wszystkich indeksów i na koniec sortowania")
+    void addEmployee_nullLastName_indexedConsistently() {
+        Employee noLastName = new Employee("Jan", null, "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000);
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000));
+
+        assertTrue(employeeService.addEmployee(noLastName));
+
+        assertEquals(2, employeeService.getAllEmployees().size());
+        assertEquals(2, employeeService.countByCompany("TechCorp"));
+        assertEquals(List.of("anna@example.com", "jan@example.com"),
+                employeeService.sortByLastName().stream().map(Employee::getEmail).toList());
+        assertEquals(employeeService.sortByLastName(), employeeService.snapshot().sortByLastName());
+        assertTrue(employeeService.addEmployee(new Employee("Ewa", "Lis", "ewa@example.com", "DataCorp", Position.STAZYSTA, 4000)));
+    }
+
+    @Test
+    @DisplayName("Pracownik bez firmy powinien zostać odrzucony bez zajmowania emaila")
+    void addEmployee_nullCompany_rejectedWithoutClaimingEmail() {
+        Employee noCompany = new Employee("Jan", "Kowalski", "jan@example.com", null, Position.PROGRAMISTA, 8000);
+        Employee valid = new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000);
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.addEmployee(noCompany));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.addAll(List.of(valid, noCompany)));
+
+        assertTrue(employeeService.getAllEmployees().isEmpty());
+        assertTrue(employeeService.findByEmail("jan@example.com").isEmpty());
+        assertTrue(employeeService.addEmployee(valid));
+        assertTrue(employeeService.addEmployee(new Employee("Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000)));
+    }
+
+    @Test
+    @DisplayName("Sortowanie na żywo i w migawce powinno rozstrzygać równe nazwiska tak samo")
+    void sortByLastName_equalLastNames_sameOrderInServiceAndSnapshot() {
+        employeeService.addEmployee(new Employee("Jan", "Nowak", "jan@example.com", "TechCorp", Position.PROGRAMISTA, 8000));
+        employeeService.addEmployee(new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.MANAGER, 12000));
+        employeeService.addEmployee(new Employee("Ewa", "Nowak", "ewa@example.com", "DataCorp", Position.STAZYSTA, 4000));
+        List<String> expected = List.of("anna@example.com", "ewa@example.com", "jan@example.com");
+
+        assertEquals(expected, employeeService.sortByLastName().stream().map(Employee::getEmail).toList());
+        assertEquals(expected, employeeService.snapshot().sortByLastName().stream().map(Employee::getEmail).toList());
+        employeeService.setAnalyticsParallelism(2);
+        try {
+            assertEquals(expected, employeeService.snapshot().sortByLastName().stream().map(Employee::getEmail).toList());
+        } finally {
+            employeeService.shutdownAnalytics();
+        }
+    }
 }
@@ -0,0 +1,289 @@
+package service;
+
+import org.example.lab01.model.BatchAddResult;
+import org.example.lab01.model.Employee;
+import org.example.lab01.model.ImportJob;
+import org.example.lab01.model.ImportJobStatus;
+import org.example.lab01.service.EmployeeService;
+import org.example.lab01.service.ImportJobService;
+import org.example.lab01.service.ImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportJobServiceTest {
+
+    private static final int ROWS = 5000;
+
+    private final CountDownLatch batchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseBatches = new CountDownLatch(1);
+    private ImportJobService jobService;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        releaseBatches.countDown();
+        if (jobService != null) {
+            jobService.shutdown();
+        }
+    }
+
+    private ImportJobService createJobService(EmployeeService employeeService, int maxConcurrentJobs, int maxQueuedJobs) {
+        ImportService importService = new ImportService();
+        try {
+            java.lang.reflect.Field field = ImportService.class.getDeclaredField("employeeService");
+            field.setAccessible(true);
+            field.set(importService, employeeService);
+        } catch (Exception e) {
+            throw new RuntimeException("Nie można wstrzyknąć EmployeeService", e);
+        }
+        jobService = new ImportJobService(importService, maxConcurrentJobs, maxQueuedJobs);
+        return jobService;
+    }
+
+    private EmployeeService blockingEmployeeService() {
+        return new EmployeeService() {
+            @Override
+            public BatchAddResult addAll(Collection<Employee> batch) {
+                batchStarted.countDown();
+                try {
+                    releaseBatches.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.addAll(batch);
+            }
+        };
+    }
+
+    private Path createCsvFile(String fileName) throws IOException {
+        StringBuilder csvContent = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < ROWS; i++) {
+            csvContent.append("Jan,Kowalski,user").append(i).append("@example.com,TechCorp,PROGRAMISTA,8500\n");
+        }
+        Path file = tempDir.resolve(fileName);
+        Files.writeString(file, csvContent.toString());
+        return file;
+    }
+
+    private ImportJob awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ImportJob job = jobService.getJob(jobId).orElseThrow();
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.isFinished(), "Zadanie importu nie zakończyło się w czasie");
+        return job;
+    }
+
+    @Test
+    @DisplayName("Zgłoszony import powinien wykonać się w tle i udostępnić podsumowanie")
+    void submit_validFile_completesInBackground() throws Exception {
+        EmployeeService employeeService = new EmployeeService();
+        createJobService(employeeService, 2, 4);
+        Path csvFile = createCsvFile("job.csv");
+
+        String jobId = jobService.submit(csvFile.toString());
+        ImportJob job = awaitFinished(jobId);
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(ROWS, job.getSummary().getImportedCount());
+        assertEquals(ROWS, job.getProgress().getImportedCount());
+        assertEquals(1.0, job.getProgress().getFractionDone());
+        assertEquals(ROWS, employeeService.getAllEmployees().size());
+    }
+
+    @Test
+    @DisplayName("Anulowanie działającego importu powinno zatrzymać go po bieżącej paczce")
+    void cancel_runningJob_stopsAfterCurrentBatch() throws Exception {
+        EmployeeService employeeService = blockingEmployeeService();
+        createJobService(employeeService, 1, 1);
+        Path csvFile = createCsvFile("cancelled.csv");
+
+        String jobId = jobService.submit(csvFile.toString());
+        assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+        assertEquals(ImportJobStatus.RUNNING, jobService.getJob(jobId).orElseThrow().getStatus());
+        assertTrue(jobService.cancel(jobId));
+        releaseBatches.countDown();
+        ImportJob job = awaitFinished(jobId);
+
+        assertEquals(ImportJobStatus.CANCELLED, job.getStatus());
+        assertEquals(1000, job.getSummary().getImportedCount());
+        assertTrue(job.getSummary().getErrors().contains("Import został przerwany"));
+        assertEquals(1000, employeeService.getAllEmployees().size());
+        assertTrue(Files.exists(tempDir.resolve("cancelled.csv.checkpoint")));
+        assertFalse(jobService.cancel(jobId));
+    }
+
+    @Test
+    @DisplayName("Zamknięcie serwisu powinno poczekać na działający import i nie zostawić punktu kontrolnego")
+    void shutdown_runningJob_waitsAndDeletesCheckpoint() throws Exception {
+        EmployeeService employeeService = blockingEmployeeService();
+        createJobService(employeeService, 1, 1);
+        Path csvFile = createCsvFile("shutdown.csv");
+        String jobId = jobService.submit(csvFile.toString());
+        assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+        ImportJob job = jobService.getJob(jobId).orElseThrow();
+
+        Thread shutdown = new Thread(jobService::shutdown);
+        shutdown.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!job.isCancelRequested() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        releaseBatches.countDown();
+        shutdown.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(shutdown.isAlive());
+        assertTrue(job.isFinished());
+        assertEquals(ImportJobStatus.CANCELLED, job.getStatus());
+        assertEquals(1000, employeeService.getAllEmployees().size());
+        assertFalse(Files.exists(tempDir.resolve("shutdown.csv.checkpoint")));
+    }
+
+    @Test
+    @DisplayName("Liczba oczekujących importów powinna być ograniczona")
+    void submit_queueFull_rejectsJob() throws Exception {
+        createJobService(blockingEmployeeService(), 1, 1);
+        Path runningFile = createCsvFile("running.csv");
+        Path queuedFile = createCsvFile("queued.csv");
+        Path rejectedFile = createCsvFile("rejected.csv");
+
+        String running = jobService.submit(runningFile.toString());
+        assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+        String queued = jobService.submit(queuedFile.toString());
+
+        assertThrows(IllegalStateException.class, () -> jobService.submit(rejectedFile.toString()));
+        assertEquals(ImportJobStatus.RUNNING, jobService.getJob(running).orElseThrow().getStatus());
+        assertEquals(ImportJobStatus.QUEUED, jobService.getJob(queued).orElseThrow().getStatus());
+        assertTrue(jobService.cancel(queued));
+        assertEquals(ImportJobStatus.CANCELLED, jobService.getJob(queued).orElseThrow().getStatus());
+        assertEquals(2, jobService.getJobs().size());
+
+        releaseBatches.countDown();
+        assertEquals(ImportJobStatus.COMPLETED, awaitFinished(running).getStatus());
+        assertTrue(jobService.removeJob(queued));
+        assertTrue(jobService.getJob(queued).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Import nieistniejącego pliku powinien zakończyć zadanie błędem")
+    void submit_nonExistentFile_failsJob() throws Exception {
+        createJobService(new EmployeeService(), 1, 1);
+
+        String jobId = jobService.submit(tempDir.resolve("nonexistent.csv").toString());
+        ImportJob job = awaitFinished(jobId);
+
+        assertEquals(ImportJobStatus.FAILED, job.getStatus());
+        assertTrue(job.getFailureMessage().contains("Błąd odczytu pliku"));
+    }
+
+    @Test
+    @DisplayName("Anulowanie nieznanego zadania powinno zwrócić false")
+    void cancel_unknownJob_returnsFalse() {
+        createJobService(new EmployeeService(), 1, 1);
+        assertFalse(jobService.cancel("nieznane"));
+        assertTrue(jobService.getJob("nieznane").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Drugi import tego samego pliku powinien zostać odrzucony, dopóki pierwszy trwa")
+    void submit_samePathWhileRunning_rejectsJob() throws Exception {
+        createJobService(blockingEmployeeService(), 2, 4);
+        Path csvFile = createCsvFile("same.csv");
+
+        String first = jobService.submit(csvFile.toString());
+        assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IllegalStateException.class, () -> jobService.submit(csvFile.toString()));
+        assertThrows(IllegalStateException.class,
+                () -> jobService.submit(tempDir.resolve(".").resolve("same.csv").toString()));
+        assertEquals(1, jobService.getJobs().size());
+
+        releaseBatches.countDown();
+        assertEquals(ImportJobStatus.COMPLETED, awaitFinished(first).getStatus());
+        String second = jobService.submit(csvFile.toString());
+        assertEquals(ImportJobStatus.COMPLETED, awaitFinished(second).getStatus());
+    }
+
+    @Test
+    @DisplayName("Postęp działającego importu powinien pokazywać bieżące liczniki duplikatów i błędnych wierszy")
+    void submit_runningJob_publishesLiveCounters() throws Exception {
+        CountDownLatch firstBatchDone = new CountDownLatch(1);
+        AtomicInteger batches = new AtomicInteger();
+        EmployeeService employeeService = new EmployeeService() {
+            @Override
+            public BatchAddResult addAll(Collection<Employee> batch) {
+                if (batches.incrementAndGet() > 1) {
+                    firstBatchDone.countDown();
+                    try {
+                        releaseBatches.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.addAll(batch);
+            }
+        };
+        createJobService(employeeService, 1, 1);
+        StringBuilder csvContent = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < ROWS; i++) {
+            if (i % 100 == 0) {
+                csvContent.append("Jan,Kowalski,user0@example.com,TechCorp,PROGRAMISTA,8500\n");
+            } else if (i % 100 == 1) {
+                csvContent.append("Jan,Kowalski,user").append(i).append("@example.com,TechCorp,DYREKTOR,8500\n");
+            } else {
+                csvContent.append("Jan,Kowalski,user").append(i).append("@example.com,TechCorp,PROGRAMISTA,8500\n");
+            }
+        }
+        Path csvFile = tempDir.resolve("live.csv");
+        Files.writeString(csvFile, csvContent.toString());
+
+        String jobId = jobService.submit(csvFile.toString());
+        assertTrue(firstBatchDone.await(5, TimeUnit.SECONDS));
+        ImportJob job = jobService.getJob(jobId).orElseThrow();
+
+        assertEquals(ImportJobStatus.RUNNING, job.getStatus());
+        assertNull(job.getSummary());
+        assertTrue(job.getProgress().getDuplicateCount() >= 9);
+        assertTrue(job.getProgress().getInvalidCount() >= 10);
+        assertTrue(job.getProgress().getImportedCount() < ROWS / 2);
+
+        releaseBatches.countDown();
+        awaitFinished(jobId);
+        assertEquals(job.getSummary().getDuplicateCount(), job.getProgress().getDuplicateCount());
+        assertEquals(job.getSummary().getInvalidCount(), job.getProgress().getInvalidCount());
+    }
+
+    @Test
+    @DisplayName("Zakończone zadania powinny wygasać po czasie przechowywania i ponad limit")
+    void getJobs_finishedJobs_expire() throws Exception {
+        createJobService(new EmployeeService(), 1, 4);
+        jobService.setMaxFinishedJobs(1);
+        String first = jobService.submit(createCsvFile("first.csv").toString());
+        awaitFinished(first);
+        String second = jobService.submit(tempDir.resolve("missing.csv").toString());
+        awaitFinished(second);
+
+        assertTrue(jobService.getJob(first).isEmpty());
+        assertEquals(List.of(second), jobService.getJobs().stream().map(ImportJob::getId).toList());
+
+        jobService.setFinishedJobRetentionMillis(0);
+        Thread.sleep(5);
+        assertTrue(jobService.getJobs().isEmpty());
+    }
+}
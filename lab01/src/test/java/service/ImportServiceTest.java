@@ -1,19 +1,43 @@
 package service;
 
+import org.example.lab01.model.BatchAddResult;
 import org.example.lab01.model.Employee;
+import org.example.lab01.model.ImportError;
+import org.example.lab01.model.ImportErrorCode;
+import org.example.lab01.model.ImportProgress;
 import org.example.lab01.model.ImportSummary;
+import org.example.lab01.model.PipelineStats;
 import org.example.lab01.model.Position;
+import org.example.lab01.service.CsvFollower;
 import org.example.lab01.service.EmployeeService;
 import org.example.lab01.service.ImportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -219,6 +243,74 @@ class ImportServiceTest {
         assertTrue(summary.getErrors().get(0).contains("Nieprawidłowy format wynagrodzenia"));
     }
 
+    @Test
+    @DisplayName("Wynagrodzenie powinno być odczytane tak samo jak przez Double.parseDouble")
+    void importFromCsv_salaryFormats_matchDoubleParseDouble() throws IOException {
+        List<String> salaries = List.of("8500", "8500.50", "+0.1", "1.", ".75", "007.10", "1e3", "2.5E-2",
+                "123456789012345", "1234567890123456789", "0.30000000000000004", "9007199254740993",
+                "4.9e-324", "1e22", "1e23", "12345.678901234567890");
+        StringBuilder csvContent = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < salaries.size(); i++) {
+            csvContent.append("Jan,Kowalski,user").append(i).append("@example.com,TechCorp,MANAGER,")
+                    .append(salaries.get(i)).append('\n');
+        }
+        Path csvFile = createCsvFile("salary_formats.csv", csvContent.toString());
+
+        ImportSummary summary = importService.importFromCsv(csvFile.toString());
+
+        assertTrue(summary.getErrors().isEmpty());
+        List<Employee> employees = employeeService.getAllEmployees();
+        for (int i = 0; i < salaries.size(); i++) {
+            assertEquals(Double.parseDouble(salaries.get(i)), employees.get(i).getSalary(), 0.0, salaries.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Powinien odrzucić wynagrodzenie w formacie innym niż dziesiętny")
+    void importFromCsv_nonDecimalSalary_addsError() throws IOException {
+        String csvContent = """
+                firstName,lastName,email,company,position,salary
+                Jan,Kowalski,jan.kowalski@example.com,TechCorp,PROGRAMISTA,NaN
+                Anna,Nowak,anna.nowak@example.com,DataCorp,MANAGER,Infinity
+                Piotr,Wiśniewski,piotr.wisniewski@example.com,CloudInc,STAZYSTA,0x1p12
+                Maria,Kowalska,maria.kowalska@example.com,TechCorp,MANAGER,8500d
+                Tomasz,Nowicki,tomasz.nowicki@example.com,OtherCorp,PREZES,1e
+                Ewa,Zielińska,ewa.zielinska@example.com,TechCorp,MANAGER,1.2.3
+                """;
+        Path csvFile = createCsvFile("non_decimal_salary.csv", csvContent);
+
+        ImportSummary summary = importService.importFromCsv(csvFile.toString());
+
+        assertEquals(0, summary.getImportedCount());
+        assertEquals(6, summary.getErrors().size());
+        assertTrue(summary.getImportErrors().stream().allMatch(e -> e.getCode() == ImportErrorCode.INVALID_SALARY));
+        assertEquals("Linia 5: Nieprawidłowy format wynagrodzenia: 8500d", summary.getErrors().get(3));
+    }
+
+    @Test
+    @DisplayName("Stanowisko powinno być rozpoznane bez względu na wielkość liter")
+    void importFromCsv_mixedCasePosition_resolvesPosition() throws IOException {
+        String csvContent = """
+                firstName,lastName,email,company,position,salary
+                Jan,Kowalski,jan.kowalski@example.com,TechCorp,Programista,8500
+                Anna,Nowak,anna.nowak@example.com,DataCorp,mAnAgEr,12500
+                Piotr,Wiśniewski,piotr.wisniewski@example.com,CloudInc,Wiceprezes,18000
+                Maria,Kowalska,maria.kowalska@example.com,TechCorp,MANAGERKA,13000
+                Tomasz,Nowicki,tomasz.nowicki@example.com,OtherCorp,Stażysta,3000
+                """;
+        Path csvFile = createCsvFile("mixed_case_position.csv", csvContent);
+
+        ImportSummary summary = importService.importFromCsv(csvFile.toString());
+
+        assertEquals(3, summary.getImportedCount());
+        List<Employee> employees = employeeService.getAllEmployees();
+        assertEquals(Position.PROGRAMISTA, employees.get(0).getPosition());
+        assertEquals(Position.MANAGER, employees.get(1).getPosition());
+        assertEquals(Position.WICEPREZES, employees.get(2).getPosition());
+        assertEquals(List.of("Linia 5: Nieznane stanowisko: MANAGERKA", "Linia 6: Nieznane stanowisko: Stażysta"),
+                summary.getErrors());
+    }
+
     @Test
     @DisplayName("Powinien odrzucić pracownika z duplikatem emaila")
     void importFromCsv_duplicateEmail_addsError() throws IOException {
@@ -272,6 +364,36 @@ class ImportServiceTest {
         assertTrue(errors.stream().anyMatch(e -> e.contains("Linia 6") && e.contains("Pracownik z tym emailem już istnieje")));
     }
 
+    @Test
+    @DisplayName("Błędy importu powinny zawierać kod błędu i numer linii")
+    void importFromCsv_invalidRows_reportsErrorCodes() throws IOException {
+        String csvContent = """
+                firstName,lastName,email,company,position,salary
+                Jan,Kowalski,jan.kowalski@example.com,TechCorp
+                Anna,Nowak,anna.nowak@example.com,DataCorp,MANAGER,
+                Piotr,Wiśniewski,piotr.wisniewski@example.com,CloudInc,INVALID,3500
+                Maria,Kowalska,maria.kowalska@example.com,TechCorp,MANAGER,abc
+                Tomasz,Nowicki,tomasz.nowicki@example.com,OtherCorp,PREZES,-100
+                Ewa,Zielińska,ewa.zielinska@example.com, ,MANAGER,9000
+                Adam,Lis,adam.lis@example.com,TechCorp,MANAGER,9000
+                Adam,Lis,adam.lis@example.com,TechCorp,MANAGER,9000
+                """;
+        Path csvFile = createCsvFile("error_codes.csv", csvContent);
+
+        ImportSummary summary = importService.importFromCsv(csvFile.toString());
+
+        List<ImportError> errors = summary.getImportErrors();
+        assertEquals(1, summary.getImportedCount());
+        assertEquals(List.of(ImportErrorCode.WRONG_COLUMN_COUNT, ImportErrorCode.WRONG_COLUMN_COUNT,
+                        ImportErrorCode.UNKNOWN_POSITION, ImportErrorCode.INVALID_SALARY,
+                        ImportErrorCode.NON_POSITIVE_SALARY, ImportErrorCode.EMPTY_FIELD,
+                        ImportErrorCode.DUPLICATE_EMAIL),
+                errors.stream().map(ImportError::getCode).toList());
+        assertEquals(List.of(2, 3, 4, 5, 6, 7, 9), errors.stream().map(ImportError::getLineNumber).toList());
+        assertEquals("Linia 6: Wynagrodzenie musi być dodatnie, otrzymano: -100.0", summary.getErrors().get(4));
+        assertEquals("Linia 4: Nieznane stanowisko: INVALID", errors.get(2).getMessage());
+    }
+
     @Test
     @DisplayName("Powinien zaimportować wszystkie poprawne dane bez błędów")
     void importFromCsv_allValid_noErrors() throws IOException {
@@ -298,4 +420,657 @@ class ImportServiceTest {
         assertEquals(0, summary.getImportedCount());
         assertTrue(summary.getErrors().isEmpty());
     }
+
+    @Test
+    @DisplayName("Powinien wykryć duplikat emaila między paczkami importu")
+    void importFromCsv_duplicateAcrossBatches_addsErrorWithLineNumber() throws IOException {
+        StringBuilder csvContent = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < 2500; i++) {
+            csvContent.append("Jan,Kowalski,user").append(i).append("@example.com,TechCorp,PROGRAMISTA,8500\n");
+        }
+        csvContent.append("Anna,Nowak,user5@example.com,DataCorp,MANAGER,12500\n");
+        Path csvFile = createCsvFile("many_rows.csv", csvContent.toString());
+
+        ImportSummary summary = importService.importFromCsv(csvFile.toString());
+
+        assertEquals(2500, summary.getImportedCount());
+        assertEquals(1, summary.getErrors().size());
+        assertTrue(summary.getErrors().get(0).contains("Linia 2502"));
+        assertTrue(summary.getErrors().get(0).contains("Pracownik z tym emailem już istnieje"));
+        assertEquals(2500, employeeService.getAllEmployees().size());
+    }
+
+    @Test
+    @DisplayName("Powinien obsłużyć zakończenia linii CRLF i brak znaku nowej linii na końcu pliku")
+    void importFromCsv_crlfWithoutTrailingNewline_importsAllRows() throws IOException {
+        String csvContent = "firstName,lastName,email,company,position,salary\r\n"
+                + "Jan,Kowalski,jan.kowalski@example.com,TechCorp,PROGRAMISTA,8500\r\n"
+                + "Anna,Nowak,anna.nowak@example.com,DataCorp,INVALID,12500\r\n"
+                + "Piotr,Wiśniewski,piotr.wisniewski@example.com,CloudInc,STAZYSTA,3500";
+        Path csvFile = createCsvFile("crlf.csv", csvContent);
+
+        ImportSummary summary = importService.importFromCsv(csvFile.toString());
+
+        assertEquals(2, summary.getImportedCount());
+        assertEquals(1, summary.getErrors().size());
+        assertTrue(summary.getErrors().get(0).contains("Linia 3"));
+        Employee last = employeeService.getAllEmployees().get(1);
+        assertEquals("Wiśniewski", last.getLastName());
+        assertEquals(3500, last.getSalary(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Końcowe puste kolumny powinny być pomijane jak w String.split")
+    void importFromCsv_trailingEmptyColumns_countedLikeSplit() throws IOException {
+        String csvContent = """
+                firstName,lastName,email,company,position,salary
+                Jan,Kowalski,jan.kowalski@example.com,TechCorp,PROGRAMISTA,8500,,
+                Anna,Nowak,anna.nowak@example.com,DataCorp,MANAGER,
+                """;
+        Path csvFile = createCsvFile("trailing_columns.csv", csvContent);
+
+        ImportSummary summary = importService.importFromCsv(csvFile.toString());
+
+        assertEquals(1, summary.getImportedCount());
+        assertEquals(1, summary.getErrors().size());
+        assertTrue(summary.getErrors().get(0).contains("Linia 3"));
+        assertTrue(summary.getErrors().get(0).contains("otrzymano 5"));
+    }
+
+    @Test
+    @DisplayName("Powinien zwrócić pusty ImportSummary dla pustego pliku")
+    void importFromCsv_emptyFile_emptyImport() throws IOException {
+        Path csvFile = createCsvFile("empty.csv", "");
+        ImportSummary summary = importService.importFromCsv(csvFile.toString());
+        assertEquals(0, summary.getImportedCount());
+        assertTrue(summary.getErrors().isEmpty());
+    }
+
+    private Path createLargeCsvFile(String fileName) throws IOException {
+        StringBuilder csvContent = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < 60_000; i++) {
+            if (i % 997 == 0) {
+                csvContent.append("Anna,Nowak,anna").append(i).append("@example.com,DataCorp,INVALID,12500\n");
+            } else if (i % 1009 == 0) {
+                csvContent.append("Jan,Kowalski,user").append(i / 2).append("@example.com,TechCorp,PROGRAMISTA,8500\r\n");
+            } else if (i % 1013 == 0) {
+                csvContent.append("\n");
+            } else {
+                csvContent.append("Jan,Kowalski,user").append(i).append("@example.com,TechCorp,PROGRAMISTA,8500\n");
+            }
+        }
+        return createCsvFile(fileName, csvContent.toString());
+    }
+
+    private ImportSummary importSequentially(Path csvFile, EmployeeService targetService) {
+        ImportService sequentialImport = new ImportService();
+        setEmployeeService(sequentialImport, targetService);
+        return sequentialImport.importFromCsv(csvFile.toString());
+    }
+
+    @Test
+    @DisplayName("Import równoległy powinien dawać ten sam wynik co sekwencyjny")
+    void importFromCsvParallel_largeFile_matchesSequentialImport() throws IOException {
+        Path csvFile = createLargeCsvFile("large.csv");
+        EmployeeService sequentialService = new EmployeeService();
+
+        ImportSummary expected = importSequentially(csvFile, sequentialService);
+        ImportSummary summary = importService.importFromCsvParallel(csvFile.toString(), 4);
+
+        assertEquals(expected.getImportedCount(), summary.getImportedCount());
+        assertEquals(Set.copyOf(expected.getErrors()), Set.copyOf(summary.getErrors()));
+        assertEquals(expected.getErrors().size(), summary.getErrors().size());
+        assertEquals(sequentialService.getAllEmployees(), employeeService.getAllEmployees());
+    }
+
+    @Test
+    @DisplayName("Import równoległy powinien obsłużyć nieistniejący plik")
+    void importFromCsvParallel_nonExistentFile_returnsErrorSummary() {
+        ImportSummary summary = importService.importFromCsvParallel(tempDir.resolve("nonexistent.csv").toString(), 2);
+        assertEquals(0, summary.getImportedCount());
+        assertEquals(1, summary.getErrors().size());
+        assertTrue(summary.getErrors().get(0).contains("Błąd odczytu pliku"));
+    }
+
+    @Test
+    @DisplayName("Import potokowy powinien dawać ten sam wynik co sekwencyjny i raportować statystyki etapów")
+    void importFromCsvPipelined_largeFile_matchesSequentialImport() throws IOException {
+        Path csvFile = createLargeCsvFile("large_pipelined.csv");
+        EmployeeService sequentialService = new EmployeeService();
+        PipelineStats stats = new PipelineStats();
+
+        ImportSummary expected = importSequentially(csvFile, sequentialService);
+        ImportSummary summary = importService.importFromCsvPipelined(csvFile.toString(), stats);
+
+        assertEquals(expected.getImportedCount(), summary.getImportedCount());
+        assertEquals(expected.getErrors(), summary.getErrors());
+        assertEquals(sequentialService.getAllEmployees(), employeeService.getAllEmployees());
+        assertEquals(Files.size(csvFile), stats.getBytesRead());
+        assertEquals(stats.getRowsParsed(), stats.getRowsInserted());
+        assertTrue(stats.getRowsParsed() > 59_000);
+        assertEquals(0, stats.getInsertQueueDepth());
+    }
+
+    @Test
+    @DisplayName("Awaria wstawiania w imporcie potokowym nie powinna pozostawiać zablokowanych wątków etapów")
+    void importFromCsvPipelined_insertFails_stageThreadsTerminate() throws Exception {
+        StringBuilder csvContent = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < 300_000; i++) {
+            csvContent.append("Jan,Kowalski,user").append(i).append("@example.com,TechCorp,PROGRAMISTA,8500\n");
+        }
+        Path csvFile = createCsvFile("failing_insert.csv", csvContent.toString());
+        EmployeeService failingService = new EmployeeService() {
+            @Override
+            public BatchAddResult addAll(Collection<Employee> batch) {
+                throw new IllegalStateException("Symulowana awaria");
+            }
+        };
+        ImportService failingImport = new ImportService();
+        setEmployeeService(failingImport, failingService);
+
+        assertThrows(IllegalStateException.class, () -> failingImport.importFromCsvPipelined(csvFile.toString()));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pipelineThreadsAlive() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(pipelineThreadsAlive(), "Wątki etapów importu potokowego nadal działają");
+    }
+
+    private static boolean pipelineThreadsAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().startsWith("import-pipeline-") && thread.isAlive());
+    }
+
+    @Test
+    @DisplayName("Awaria etapu odczytu w imporcie potokowym powinna zostać zgłoszona jako błąd odczytu")
+    void importPipeline_readStageFails_reportsReadError() throws Exception {
+        Class<?> pipelineClass = Class.forName("org.example.lab01.service.ImportPipeline");
+        java.lang.reflect.Constructor<?> constructor =
+                pipelineClass.getDeclaredConstructor(EmployeeService.class, PipelineStats.class);
+        constructor.setAccessible(true);
+        Object pipeline = constructor.newInstance(employeeService, new PipelineStats());
+        java.lang.reflect.Method run = pipelineClass.getDeclaredMethod("run", InputStream.class, ImportSummary.class);
+        run.setAccessible(true);
+        byte[] csv = "firstName,lastName,email,company,position,salary\nJan,Kowalski,jan@example.com,TechCorp,PROGRAMISTA,8500\n"
+                .getBytes(StandardCharsets.UTF_8);
+        InputStream failingInput = new SequenceInputStream(new ByteArrayInputStream(csv), new InputStream() {
+            @Override
+            public int read() {
+                throw new IllegalStateException("Symulowana awaria odczytu");
+            }
+        });
+        ImportSummary summary = new ImportSummary(0);
+
+        run.invoke(pipeline, failingInput, summary);
+
+        assertEquals(1, summary.getErrorCount(ImportErrorCode.READ_ERROR));
+        assertTrue(summary.getErrors().get(0).contains("Symulowana awaria odczytu"));
+    }
+
+    @Test
+    @DisplayName("Import potokowy powinien obsłużyć nieistniejący plik")
+    void importFromCsvPipelined_nonExistentFile_returnsErrorSummary() {
+        ImportSummary summary = importService.importFromCsvPipelined(tempDir.resolve("nonexistent.csv").toString());
+        assertEquals(0, summary.getImportedCount());
+        assertEquals(1, summary.getErrors().size());
+        assertTrue(summary.getErrors().get(0).contains("Błąd odczytu pliku"));
+    }
+
+    @Test
+    @DisplayName("Podsumowanie powinno ograniczać listę błędów i zliczać pozostałe według kategorii")
+    void importFromCsv_manyInvalidRows_boundsDetailedErrors() throws IOException {
+        StringBuilder csvContent = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < 5000; i++) {
+            csvContent.append("Anna,Nowak,anna").append(i).append("@example.com,DataCorp,INVALID,12500\n");
+        }
+        for (int i = 0; i < 3000; i++) {
+            csvContent.append("Jan,Kowalski,user").append(i % 2000).append("@example.com,TechCorp,PROGRAMISTA,8500\n");
+        }
+        csvContent.append("Piotr,Wiśniewski,piotr@example.com,CloudInc,STAZYSTA,-1\n");
+        Path csvFile = createCsvFile("many_errors.csv", csvContent.toString());
+
+        ImportSummary summary = importService.importFromCsv(csvFile.toString());
+
+        assertEquals(8001, summary.getProcessedCount());
+        assertEquals(2000, summary.getImportedCount());
+        assertEquals(1000, summary.getDuplicateCount());
+        assertEquals(5001, summary.getInvalidCount());
+        assertEquals(summary.getProcessedCount(),
+                summary.getImportedCount() + summary.getDuplicateCount() + summary.getInvalidCount());
+        assertEquals(ImportSummary.DEFAULT_MAX_DETAILED_ERRORS, summary.getErrors().size());
+        assertTrue(summary.isErrorListTruncated());
+        assertEquals("Linia 1001: Nieznane stanowisko: INVALID", summary.getErrors().get(999));
+        assertEquals(5000, summary.getErrorCount(ImportErrorCode.UNKNOWN_POSITION));
+        assertEquals(1, summary.getErrorCount(ImportErrorCode.NON_POSITIVE_SALARY));
+        assertEquals("[2-5001]", summary.getErrorLineRanges(ImportErrorCode.UNKNOWN_POSITION).toString());
+        assertEquals("[7002-8001]", summary.getErrorLineRanges(ImportErrorCode.DUPLICATE_EMAIL).toString());
+        assertEquals("[8002]", summary.getErrorLineRanges(ImportErrorCode.NON_POSITIVE_SALARY).toString());
+    }
+
+    @Test
+    @DisplayName("Import równoległy powinien zwracać te same liczniki co sekwencyjny")
+    void importFromCsvParallel_largeFile_matchesSequentialTotals() throws IOException {
+        Path csvFile = createLargeCsvFile("large_totals.csv");
+        ImportSummary expected = importSequentially(csvFile, new EmployeeService());
+
+        ImportSummary summary = importService.importFromCsvParallel(csvFile.toString(), 4);
+
+        assertEquals(expected.getProcessedCount(), summary.getProcessedCount());
+        assertEquals(expected.getDuplicateCount(), summary.getDuplicateCount());
+        assertEquals(expected.getInvalidCount(), summary.getInvalidCount());
+        assertEquals(expected.getErrorCounts(), summary.getErrorCounts());
+        assertEquals(expected.getErrorLineRanges(ImportErrorCode.UNKNOWN_POSITION).toString(),
+                summary.getErrorLineRanges(ImportErrorCode.UNKNOWN_POSITION).toString());
+        assertTrue(summary.getProcessedCount() > 59_000);
+    }
+
+    @Test
+    @DisplayName("Śledzenie pliku powinno importować tylko dopisane, kompletne linie")
+    void followCsv_appendedLines_importsOnlyNewRows() throws IOException {
+        Path csvFile = createCsvFile("growing.csv", """
+                firstName,lastName,email,company,position,salary
+                Jan,Kowalski,jan.kowalski@example.com,TechCorp,PROGRAMISTA,8500
+                Anna,Nowak,anna.nowak@example.com,DataCorp,MANAGER,12500
+                """);
+        CsvFollower follower = importService.followCsv(csvFile.toString());
+
+        ImportSummary first = follower.poll();
+        Files.writeString(csvFile, "Piotr,Wiśniewski,piotr.wisniewski@example.com,Cloud", StandardOpenOption.APPEND);
+        ImportSummary partial = follower.poll();
+        long offsetAfterPartial = follower.getCommittedOffset();
+        Files.writeString(csvFile, "Inc,STAZYSTA,3500\r\nMaria,Kowalska,maria.kowalska@example.com,TechCorp,INVALID,13000\n",
+                StandardOpenOption.APPEND);
+        ImportSummary second = follower.poll();
+
+        assertEquals(2, first.getImportedCount());
+        assertEquals(0, partial.getProcessedCount());
+        assertTrue(partial.getErrors().isEmpty());
+        assertEquals(1, second.getImportedCount());
+        assertEquals(List.of("Linia 5: Nieznane stanowisko: INVALID"), second.getErrors());
+        assertEquals(3, employeeService.getAllEmployees().size());
+        assertTrue(follower.getCommittedOffset() > offsetAfterPartial);
+        assertEquals(Files.size(csvFile), follower.getCommittedOffset());
+        assertEquals(6, follower.getNextLineNumber());
+        assertEquals(0, follower.poll().getProcessedCount());
+    }
+
+    @Test
+    @DisplayName("Śledzenie pliku powinno wznowić import od zapamiętanego przesunięcia")
+    void followCsv_resumeFromCommittedOffset_skipsImportedRows() throws IOException {
+        Path csvFile = createCsvFile("resumed.csv", """
+                firstName,lastName,email,company,position,salary
+                Jan,Kowalski,jan.kowalski@example.com,TechCorp,PROGRAMISTA,8500
+                """);
+        CsvFollower follower = importService.followCsv(csvFile.toString());
+        follower.poll();
+        Files.writeString(csvFile, "Anna,Nowak,anna.nowak@example.com,DataCorp,MANAGER,-1\n", StandardOpenOption.APPEND);
+
+        EmployeeService resumedService = new EmployeeService();
+        ImportService resumedImport = new ImportService();
+        setEmployeeService(resumedImport, resumedService);
+        ImportSummary summary = resumedImport
+                .followCsv(csvFile.toString(), follower.getCommittedOffset(), follower.getNextLineNumber())
+                .poll();
+
+        assertEquals(1, summary.getProcessedCount());
+        assertEquals(List.of("Linia 3: Wynagrodzenie musi być dodatnie, otrzymano: -1.0"), summary.getErrors());
+        assertTrue(resumedService.getAllEmployees().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Uruchomione śledzenie powinno udostępnić dopisane wiersze w czasie poniżej sekundy")
+    void followCsv_started_importsAppendedRowsQuickly() throws Exception {
+        Path csvFile = createCsvFile("followed.csv", "firstName,lastName,email,company,position,salary\n");
+        CountDownLatch imported = new CountDownLatch(1);
+
+        try (CsvFollower follower = importService.followCsv(csvFile.toString())) {
+            follower.start(50, summary -> {
+                if (summary.getImportedCount() > 0) {
+                    imported.countDown();
+                }
+            });
+            Files.writeString(csvFile, "Jan,Kowalski,jan.kowalski@example.com,TechCorp,PROGRAMISTA,8500\n",
+                    StandardOpenOption.APPEND);
+
+            assertTrue(imported.await(1, TimeUnit.SECONDS));
+            assertTrue(employeeService.findByEmail("jan.kowalski@example.com").isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("Wyjątek importu ani słuchacza nie powinien zatrzymać śledzenia pliku")
+    void followCsv_pollAndListenerFailures_keepFollowing() throws Exception {
+        Path csvFile = createCsvFile("followed_failures.csv", "firstName,lastName,email,company,position,salary\n");
+        AtomicBoolean failing = new AtomicBoolean(true);
+        EmployeeService failingService = new EmployeeService() {
+            @Override
+            public BatchAddResult addAll(Collection<Employee> batch) {
+                if (failing.getAndSet(false)) {
+                    throw new IllegalStateException("Symulowana awaria");
+                }
+                return employeeService.addAll(batch);
+            }
+        };
+        ImportService followingImport = new ImportService();
+        setEmployeeService(followingImport, failingService);
+        List<ImportSummary> summaries = new CopyOnWriteArrayList<>();
+        CountDownLatch imported = new CountDownLatch(1);
+
+        try (CsvFollower follower = followingImport.followCsv(csvFile.toString())) {
+            follower.start(20, summary -> {
+                summaries.add(summary);
+                if (summaries.size() == 1) {
+                    throw new IllegalArgumentException("Błąd słuchacza");
+                }
+                if (summary.getImportedCount() > 0) {
+                    imported.countDown();
+                }
+            });
+            Files.writeString(csvFile, "Jan,Kowalski,jan.kowalski@example.com,TechCorp,PROGRAMISTA,8500\n",
+                    StandardOpenOption.APPEND);
+
+            assertTrue(imported.await(2, TimeUnit.SECONDS));
+            assertEquals(ImportErrorCode.OTHER, summaries.get(0).getImportErrors().get(0).getCode());
+            assertEquals(2, follower.getFailureCount());
+            assertInstanceOf(IllegalArgumentException.class, follower.getLastFailure().orElseThrow());
+            assertTrue(employeeService.findByEmail("jan.kowalski@example.com").isPresent());
+        }
+    }
+
+    private Path gzip(Path source, String fileName) throws IOException {
+        Path target = tempDir.resolve(fileName);
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(target))) {
+            Files.copy(source, output);
+        }
+        return target;
+    }
+
+    @Test
+    @DisplayName("Import powinien rozpoznać plik gzip i dawać ten sam wynik co dla pliku nieskompresowanego")
+    void importFromCsv_gzipFile_matchesUncompressedImport() throws IOException {
+        Path csvFile = createLargeCsvFile("large_plain.csv");
+        Path gzipFile = gzip(csvFile, "large.csv.gz");
+        EmployeeService plainService = new EmployeeService();
+        EmployeeService parallelService = new EmployeeService();
+        ImportService parallelImport = new ImportService();
+        setEmployeeService(parallelImport, parallelService);
+
+        ImportSummary expected = importSequentially(csvFile, plainService);
+        ImportSummary summary = importService.importFromCsv(gzipFile.toString());
+        ImportSummary parallelSummary = parallelImport.importFromCsvParallel(gzipFile.toString(), 4);
+
+        assertEquals(expected.getImportedCount(), summary.getImportedCount());
+        assertEquals(expected.getErrors(), summary.getErrors());
+        assertEquals(plainService.getAllEmployees(), employeeService.getAllEmployees());
+        assertEquals(expected.getErrors(), parallelSummary.getErrors());
+        assertEquals(plainService.getAllEmployees(), parallelService.getAllEmployees());
+    }
+
+    @Test
+    @DisplayName("Import uszkodzonego pliku gzip powinien zgłosić błąd odczytu")
+    void importFromCsv_truncatedGzip_returnsReadError() throws IOException {
+        Path csvFile = createLargeCsvFile("truncated_plain.csv");
+        Path gzipFile = gzip(csvFile, "truncated.csv.gz");
+        byte[] compressed = Files.readAllBytes(gzipFile);
+        Files.write(gzipFile, Arrays.copyOf(compressed, compressed.length / 2));
+
+        ImportSummary summary = importService.importFromCsv(gzipFile.toString());
+
+        assertEquals(ImportErrorCode.READ_ERROR, summary.getImportErrors().get(summary.getErrors().size() - 1).getCode());
+        assertTrue(summary.getImportedCount() < 59_000);
+    }
+
+    @Test
+    @DisplayName("Import wznowiony od punktu kontrolnego nie powinien wstawiać wierszy drugi raz")
+    void importFromCsvResumable_failureMidway_resumesFromCheckpoint() throws IOException {
+        Path csvFile = createLargeCsvFile("resumable.csv");
+        Path checkpointFile = tempDir.resolve("resumable.csv.checkpoint");
+        ImportSummary expected = importSequentially(csvFile, new EmployeeService());
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger batches = new AtomicInteger();
+        EmployeeService failingService = new EmployeeService() {
+            @Override
+            public BatchAddResult addAll(Collection<Employee> batch) {
+                if (failing.get() && batches.incrementAndGet() > 20) {
+                    throw new IllegalStateException("Symulowana awaria");
+                }
+                return super.addAll(batch);
+            }
+        };
+        ImportService resumableImport = new ImportService();
+        setEmployeeService(resumableImport, failingService);
+        resumableImport.setCheckpointIntervalMillis(0);
+
+        assertThrows(IllegalStateException.class, () -> resumableImport.importFromCsvResumable(csvFile.toString()));
+        assertTrue(Files.exists(checkpointFile));
+        int importedBeforeFailure = failingService.getAllEmployees().size();
+
+        failing.set(false);
+        ImportProgress progress = new ImportProgress();
+        ImportSummary summary = resumableImport.importFromCsvResumable(csvFile.toString(), progress);
+
+        assertEquals(expected.getImportedCount(), summary.getImportedCount());
+        assertEquals(expected.getProcessedCount(), summary.getProcessedCount());
+        assertEquals(expected.getImportedCount(), failingService.getAllEmployees().size());
+        assertTrue(importedBeforeFailure > 0);
+        assertEquals(expected.getDuplicateCount(), summary.getDuplicateCount());
+        assertEquals(expected.getInvalidCount(), summary.getInvalidCount());
+        assertEquals(expected.getErrorCounts(), summary.getErrorCounts());
+        assertTrue(summary.getErrors().stream().noneMatch(e -> e.startsWith("Linia 2:")));
+        assertFalse(Files.exists(checkpointFile));
+        assertEquals(Files.size(csvFile), progress.getBytesProcessed());
+        assertEquals(1.0, progress.getFractionDone());
+        assertTrue(progress.getRowsProcessed() > 0);
+        assertTrue(progress.getRowsProcessed() < expected.getProcessedCount());
+    }
+
+    @Test
+    @DisplayName("Import bez punktu kontrolnego powinien dawać ten sam wynik co zwykły import")
+    void importFromCsvResumable_noCheckpoint_matchesSequentialImport() throws IOException {
+        Path csvFile = createLargeCsvFile("resumable_full.csv");
+        EmployeeService sequentialService = new EmployeeService();
+        ImportSummary expected = importSequentially(csvFile, sequentialService);
+        ImportProgress progress = new ImportProgress();
+
+        ImportSummary summary = importService.importFromCsvResumable(csvFile.toString(), progress);
+
+        assertEquals(expected.getErrors(), summary.getErrors());
+        assertEquals(sequentialService.getAllEmployees(), employeeService.getAllEmployees());
+        assertEquals(expected.getProcessedCount(), progress.getRowsProcessed());
+        assertTrue(progress.getEstimatedTimeRemaining().map(Duration::isZero).orElse(true));
+        assertFalse(Files.exists(tempDir.resolve("resumable_full.csv.checkpoint")));
+    }
+
+    private ImportService failingResumableImport(EmployeeService target, AtomicBoolean failing) {
+        AtomicInteger batches = new AtomicInteger();
+        EmployeeService failingService = new EmployeeService() {
+            @Override
+            public BatchAddResult addAll(Collection<Employee> batch) {
+                if (failing.get() && batches.incrementAndGet() > 20) {
+                    throw new IllegalStateException("Symulowana awaria");
+                }
+                return target.addAll(batch);
+            }
+        };
+        ImportService resumableImport = new ImportService();
+        setEmployeeService(resumableImport, failingService);
+        resumableImport.setCheckpointIntervalMillis(0);
+        return resumableImport;
+    }
+
+    @Test
+    @DisplayName("Nieudany zapis punktu kontrolnego nie powinien zostawiać starego punktu ani zgłaszać błędu odczytu")
+    void importFromCsvResumable_checkpointWriteFails_deletesStaleCheckpoint() throws IOException {
+        Path csvFile = createLargeCsvFile("checkpoint_failure.csv");
+        Path checkpointFile = tempDir.resolve("checkpoint_failure.csv.checkpoint");
+        ImportSummary expected = importSequentially(csvFile, new EmployeeService());
+        AtomicBoolean failing = new AtomicBoolean(true);
+        ImportService resumableImport = failingResumableImport(employeeService, failing);
+        assertThrows(IllegalStateException.class, () -> resumableImport.importFromCsvResumable(csvFile.toString()));
+        assertTrue(Files.exists(checkpointFile));
+        Files.createDirectory(tempDir.resolve("checkpoint_failure.csv.checkpoint.tmp"));
+
+        failing.set(false);
+        ImportSummary summary = resumableImport.importFromCsvResumable(csvFile.toString());
+
+        assertEquals(expected.getImportedCount(), summary.getImportedCount());
+        assertEquals(expected.getImportedCount(), employeeService.getAllEmployees().size());
+        assertEquals(1, summary.getErrorCount(ImportErrorCode.CHECKPOINT_ERROR));
+        assertEquals(0, summary.getErrorCount(ImportErrorCode.READ_ERROR));
+        assertFalse(Files.exists(checkpointFile));
+    }
+
+    @Test
+    @DisplayName("Podmieniony plik nie powinien być wznawiany od punktu kontrolnego poprzedniego pliku")
+    void importFromCsvResumable_replacedFile_startsFromBeginning() throws IOException {
+        Path csvFile = createLargeCsvFile("replaced.csv");
+        AtomicBoolean failing = new AtomicBoolean(true);
+        ImportService resumableImport = failingResumableImport(employeeService, failing);
+        assertThrows(IllegalStateException.class, () -> resumableImport.importFromCsvResumable(csvFile.toString()));
+        assertTrue(Files.exists(tempDir.resolve("replaced.csv.checkpoint")));
+
+        StringBuilder replacement = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < 70_000; i++) {
+            replacement.append("Anna,Nowak,nowa").append(i).append("@example.com,DataCorp,PROGRAMISTA,9000\n");
+        }
+        Files.writeString(csvFile, replacement.toString());
+        failing.set(false);
+        int importedBefore = employeeService.getAllEmployees().size();
+        ImportSummary summary = resumableImport.importFromCsvResumable(csvFile.toString());
+
+        assertEquals(70_000, summary.getImportedCount());
+        assertEquals(0, summary.getDuplicateCount());
+        assertEquals(importedBefore + 70_000, employeeService.getAllEmployees().size());
+    }
+
+    @Test
+    @DisplayName("Import z punktami kontrolnymi powinien rozpakować plik gzip i wznowić go od zapisanej linii")
+    void importFromCsvResumable_gzipFile_resumesFromCheckpoint() throws IOException {
+        Path csvFile = createLargeCsvFile("resumable_plain.csv");
+        Path gzipFile = gzip(csvFile, "resumable.csv.gz");
+        ImportSummary expected = importSequentially(csvFile, new EmployeeService());
+        AtomicBoolean failing = new AtomicBoolean(true);
+        ImportService resumableImport = failingResumableImport(employeeService, failing);
+        assertThrows(IllegalStateException.class, () -> resumableImport.importFromCsvResumable(gzipFile.toString()));
+        assertTrue(Files.exists(tempDir.resolve("resumable.csv.gz.checkpoint")));
+        int importedBeforeFailure = employeeService.getAllEmployees().size();
+
+        failing.set(false);
+        ImportProgress progress = new ImportProgress();
+        ImportSummary summary = resumableImport.importFromCsvResumable(gzipFile.toString(), progress);
+
+        assertTrue(importedBeforeFailure > 0);
+        assertEquals(expected.getImportedCount(), summary.getImportedCount());
+        assertEquals(expected.getProcessedCount(), summary.getProcessedCount());
+        assertEquals(expected.getImportedCount(), employeeService.getAllEmployees().size());
+        assertEquals(expected.getDuplicateCount(), summary.getDuplicateCount());
+        assertEquals(expected.getInvalidCount(), summary.getInvalidCount());
+        assertEquals(expected.getErrorCounts(), summary.getErrorCounts());
+        assertEquals(0, summary.getErrorCount(ImportErrorCode.WRONG_COLUMN_COUNT));
+        assertEquals(1.0, progress.getFractionDone());
+        assertFalse(Files.exists(tempDir.resolve("resumable.csv.gz.checkpoint")));
+    }
+
+    @Test
+    @DisplayName("Punkt kontrolny zapisany dla innego magazynu nie powinien pomijać wierszy")
+    void importFromCsvResumable_checkpointFromAnotherStore_importsFromBeginning() throws IOException {
+        Path csvFile = createLargeCsvFile("restarted.csv");
+        ImportSummary expected = importSequentially(csvFile, new EmployeeService());
+        AtomicBoolean failing = new AtomicBoolean(true);
+        ImportService beforeRestart = failingResumableImport(employeeService, failing);
+        assertThrows(IllegalStateException.class, () -> beforeRestart.importFromCsvResumable(csvFile.toString()));
+        assertTrue(Files.exists(tempDir.resolve("restarted.csv.checkpoint")));
+
+        EmployeeService restartedService = new EmployeeService();
+        ImportService afterRestart = new ImportService();
+        setEmployeeService(afterRestart, restartedService);
+        ImportSummary summary = afterRestart.importFromCsvResumable(csvFile.toString());
+
+        assertEquals(expected.getImportedCount(), summary.getImportedCount());
+        assertEquals(expected.getProcessedCount(), summary.getProcessedCount());
+        assertEquals(expected.getImportedCount(), restartedService.getAllEmployees().size());
+        assertFalse(Files.exists(tempDir.resolve("restarted.csv.checkpoint")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"byteOffset=12", "byteOffset=abc\nnextLineNumber=2", "storeId=\\u00zz"})
+    @DisplayName("Uszkodzony punkt kontrolny powinien zostać pominięty, a import zacząć się od początku")
+    void importFromCsvResumable_corruptCheckpoint_importsFromBeginning(String checkpointContent) throws IOException {
+        Path csvFile = createLargeCsvFile("corrupt_checkpoint.csv");
+        Path checkpointFile = tempDir.resolve("corrupt_checkpoint.csv.checkpoint");
+        ImportSummary expected = importSequentially(csvFile, new EmployeeService());
+        Files.writeString(checkpointFile, checkpointContent);
+
+        ImportSummary summary = importService.importFromCsvResumable(csvFile.toString());
+
+        assertEquals(expected.getImportedCount(), summary.getImportedCount());
+        assertEquals(expected.getProcessedCount(), summary.getProcessedCount());
+        assertEquals(0, summary.getErrorCount(ImportErrorCode.READ_ERROR));
+        assertEquals(expected.getImportedCount(), employeeService.getAllEmployees().size());
+        assertFalse(Files.exists(checkpointFile));
+    }
+
+    @Test
+    @DisplayName("Duplikaty i błędy parsowania powinny być zgłaszane w kolejności linii")
+    void importFromCsv_duplicatesAndParseErrors_reportedInLineOrder() throws IOException {
+        Path csvFile = createCsvFile("line_order.csv", """
+                firstName,lastName,email,company,position,salary
+                Jan,Kowalski,jan@example.com,TechCorp,PROGRAMISTA,8500
+                Anna,Nowak,anna@example.com,TechCorp,BOGUS,9000
+                Jan,Kowalski,jan@example.com,TechCorp,PROGRAMISTA,8500
+                Piotr,Wiśniewski,piotr@example.com,TechCorp
+                Jan,Kowalski,jan@example.com,TechCorp,PROGRAMISTA,8500
+                """);
+
+        ImportSummary sequential = importService.importFromCsv(csvFile.toString());
+        ImportService parallelImport = new ImportService();
+        setEmployeeService(parallelImport, new EmployeeService());
+        ImportSummary parallelSummary = parallelImport.importFromCsvParallel(csvFile.toString(), 2);
+
+        List<Integer> expectedLines = List.of(3, 4, 5, 6);
+        assertEquals(expectedLines, sequential.getImportErrors().stream().map(ImportError::getLineNumber).toList());
+        assertEquals(expectedLines, parallelSummary.getImportErrors().stream().map(ImportError::getLineNumber).toList());
+    }
+
+    @Test
+    @DisplayName("Import równoległy z tysiącami błędnych wierszy powinien dawać te same liczniki i zakresy co sekwencyjny")
+    void importFromCsvParallel_manyInvalidRows_matchesSequentialCounts() throws IOException {
+        StringBuilder csvContent = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < 20_000; i++) {
+            String position = i % 5 == 0 ? "PROGRAMISTA" : "BOGUS";
+            csvContent.append("Jan,Kowalski,user").append(i).append("@example.com,TechCorp,")
+                    .append(position).append(",8500\n");
+        }
+        Path csvFile = createCsvFile("many_invalid.csv", csvContent.toString());
+        ImportSummary expected = importSequentially(csvFile, new EmployeeService());
+
+        ImportSummary summary = importService.importFromCsvParallel(csvFile.toString(), 2);
+
+        assertEquals(16_000, summary.getInvalidCount());
+        assertEquals(expected.getErrorCounts(), summary.getErrorCounts());
+        assertEquals(expected.getErrors(), summary.getErrors());
+        assertEquals(expected.getErrorLineRanges(ImportErrorCode.UNKNOWN_POSITION).toString(),
+                summary.getErrorLineRanges(ImportErrorCode.UNKNOWN_POSITION).toString());
+    }
+
+    @Test
+    @DisplayName("Szczegóły błędów powinny być dekodowane dla wszystkich błędów mieszczących się w limicie")
+    void importFromCsv_errorsBeyondDetailLimit_keepDetailsUpToLimit() throws IOException {
+        StringBuilder csvContent = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < 2500; i++) {
+            csvContent.append("Jan,Kowalski,user").append(i).append("@example.com,TechCorp,")
+                    .append(i % 2 == 0 ? "POS" + i + ",8500" : "PROGRAMISTA,abc" + i).append('\n');
+        }
+        Path csvFile = createCsvFile("detail_limit.csv", csvContent.toString());
+
+        ImportSummary summary = importService.importFromCsv(csvFile.toString());
+
+        assertEquals(2500, summary.getErrorCount());
+        assertEquals(ImportSummary.DEFAULT_MAX_DETAILED_ERRORS, summary.getImportErrors().size());
+        for (ImportError error : summary.getImportErrors()) {
+            int row = error.getLineNumber() - 2;
+            assertEquals(row % 2 == 0 ? "POS" + row : "abc" + row, error.getDetail());
+        }
+    }
 }